@@ -0,0 +1,59 @@
+package com.ecommerce.orderservice.application.service;
+
+import com.ecommerce.orderservice.application.dto.*;
+import com.ecommerce.orderservice.benchmark.OrderFixtures;
+import com.ecommerce.orderservice.domain.port.out.ProductServicePort;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the order-creation hot path that runs before anything is persisted:
+ * product validation/merging for a cart and the BigDecimal total reduction.
+ * <p>
+ * The product-service is replaced by an in-memory stub so only local CPU and allocation cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderApplicationServiceBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    private int cartSize;
+
+    private OrderApplicationServiceImpl service;
+    private List<OrderItemRequest> itemRequests;
+    private List<OrderItemResponse> itemResponses;
+
+    @Setup
+    public void setUp() {
+        BatchProductResponse batchResponse = OrderFixtures.batchProductResponse(cartSize);
+        ProductServicePort productServicePort = new ProductServicePort() {
+            @Override
+            public BatchProductResponse verifyAndGetProducts(BatchProductRequest items, String token) {
+                return batchResponse;
+            }
+
+            @Override
+            public List<BatchProductDetailsResponse> getProductsDetailsInBatch(BatchProductDetailsRequest request, String token) {
+                return List.of();
+            }
+        };
+        service = new OrderApplicationServiceImpl(null, productServicePort, null, null, new OrderMapper());
+        itemRequests = OrderFixtures.itemRequests(cartSize);
+        itemResponses = OrderFixtures.itemResponses(cartSize);
+    }
+
+    @Benchmark
+    public List<OrderItemResponse> validateAndGetOrderItemResponses() {
+        return service.validateAndGetOrderItemResponses(itemRequests, "Bearer benchmark");
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return service.calculateTotalPrice(itemResponses);
+    }
+}
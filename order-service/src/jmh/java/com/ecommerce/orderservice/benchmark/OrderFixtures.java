@@ -0,0 +1,72 @@
+package com.ecommerce.orderservice.benchmark;
+
+import com.ecommerce.orderservice.application.dto.BatchProductItemResponse;
+import com.ecommerce.orderservice.application.dto.BatchProductResponse;
+import com.ecommerce.orderservice.application.dto.OrderItemRequest;
+import com.ecommerce.orderservice.application.dto.OrderItemResponse;
+import com.ecommerce.orderservice.domain.model.Order;
+import com.ecommerce.orderservice.domain.model.OrderItem;
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deterministic test data shared by the order-service benchmarks.
+ * Every builder takes the cart size so each benchmark can be parameterized over small and large carts.
+ */
+public final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    public static List<OrderItemRequest> itemRequests(int cartSize) {
+        List<OrderItemRequest> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new OrderItemRequest((long) i + 1, (i % 5) + 1));
+        }
+        return items;
+    }
+
+    public static List<OrderItemResponse> itemResponses(int cartSize) {
+        List<OrderItemResponse> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new OrderItemResponse((long) i + 1, "Product " + (i + 1), (i % 5) + 1, price(i)));
+        }
+        return items;
+    }
+
+    public static BatchProductResponse batchProductResponse(int cartSize) {
+        List<BatchProductItemResponse> products = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            products.add(new BatchProductItemResponse((long) i + 1, "Product " + (i + 1), price(i), true, 100, null));
+        }
+        return new BatchProductResponse(products);
+    }
+
+    public static Order order(int cartSize) {
+        Set<OrderItem> items = new LinkedHashSet<>();
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new OrderItem((long) i + 1, (long) i + 1, (i % 5) + 1, price(i)));
+        }
+        return new Order(
+                UUID.randomUUID(),
+                "a5a6d1e9-cc05-4614-b83a-104d17b92d10",
+                items,
+                OrderStatus.CREATED,
+                LocalDateTime.now(),
+                null,
+                BigDecimal.valueOf(cartSize * 10L),
+                "123 Main St, Anytown, CA 12345"
+        );
+    }
+
+    private static BigDecimal price(int i) {
+        return BigDecimal.valueOf(999 + i, 2);
+    }
+}
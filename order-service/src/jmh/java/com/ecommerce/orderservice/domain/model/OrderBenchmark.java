@@ -0,0 +1,31 @@
+package com.ecommerce.orderservice.domain.model;
+
+import com.ecommerce.orderservice.benchmark.OrderFixtures;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the event payload projection built on every state machine action.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int cartSize;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(cartSize);
+    }
+
+    @Benchmark
+    public OrderEventPayload toEventPayload() {
+        return order.toEventPayload();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.orderservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.orderservice.benchmark.OrderFixtures;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import com.ecommerce.shared.infrastructure.configuration.JacksonConfig;
+import io.cloudevents.CloudEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks CloudEvent building in {@link OrderEventPublisherAdapter}, including the JSON encoding of the
+ * payload that the {@code CloudEventSerializer} would trigger. No broker is involved: the template captures
+ * the event instead of sending it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderEventPublisherAdapterBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int cartSize;
+
+    private CapturingKafkaTemplate kafkaTemplate;
+    private OrderEventPublisherAdapter publisher;
+    private OrderEventPayload payload;
+
+    @Setup
+    public void setUp() {
+        kafkaTemplate = new CapturingKafkaTemplate();
+        publisher = new OrderEventPublisherAdapter(kafkaTemplate, new JacksonConfig().objectMapper());
+        payload = OrderFixtures.order(cartSize).toEventPayload();
+    }
+
+    @Benchmark
+    public byte[] publishOrderCreatedEvent() {
+        publisher.publishOrderCreatedEvent(payload);
+        return kafkaTemplate.lastEvent.getData().toBytes();
+    }
+
+    /**
+     * KafkaTemplate that keeps the last event in memory. The producer factory is never asked for a producer.
+     */
+    static class CapturingKafkaTemplate extends KafkaTemplate<String, CloudEvent> {
+
+        private CloudEvent lastEvent;
+
+        CapturingKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, CloudEvent>> send(String topic, String key, CloudEvent data) {
+            lastEvent = data;
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
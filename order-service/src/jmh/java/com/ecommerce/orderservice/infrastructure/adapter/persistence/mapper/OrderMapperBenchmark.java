@@ -0,0 +1,40 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.mapper;
+
+import com.ecommerce.orderservice.benchmark.OrderFixtures;
+import com.ecommerce.orderservice.domain.model.Order;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.OrderEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the domain/entity conversions executed on every order read and write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int cartSize;
+
+    private final OrderMapper mapper = new OrderMapper();
+    private Order order;
+    private OrderEntity entity;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(cartSize);
+        entity = mapper.toEntity(order);
+    }
+
+    @Benchmark
+    public OrderEntity toEntity() {
+        return mapper.toEntity(order);
+    }
+
+    @Benchmark
+    public Order toDomain() {
+        return mapper.toDomain(entity);
+    }
+}
@@ -1,21 +1,28 @@
 package com.ecommerce.orderservice;
 
+import com.ecommerce.orderservice.infrastructure.properties.DeadLetterProperties;
+import com.ecommerce.orderservice.infrastructure.properties.OrderArchiveProperties;
+import com.ecommerce.orderservice.infrastructure.properties.ProductValidationProperties;
 import com.ecommerce.orderservice.infrastructure.properties.SecurityProperties;
 import com.ecommerce.shared.infrastructure.configuration.JacksonConfig;
 import com.ecommerce.shared.infrastructure.configuration.OpenApiConfigBase;
 import com.ecommerce.shared.infrastructure.configuration.SharedLibraryConfig;
+import com.ecommerce.shared.infrastructure.datasource.ReplicaRoutingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @EnableFeignClients
 @EnableDiscoveryClient
 @SpringBootApplication
-@EnableConfigurationProperties(SecurityProperties.class)
-@Import({SharedLibraryConfig.class, OpenApiConfigBase.class, JacksonConfig.class})
+@EnableConfigurationProperties({SecurityProperties.class, DeadLetterProperties.class, OrderArchiveProperties.class,
+        ProductValidationProperties.class})
+@Import({SharedLibraryConfig.class, OpenApiConfigBase.class, JacksonConfig.class, ReplicaRoutingConfig.class})
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
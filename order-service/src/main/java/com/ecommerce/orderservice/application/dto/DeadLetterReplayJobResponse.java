@@ -0,0 +1,20 @@
+package com.ecommerce.orderservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Progress of a dead letter replay job")
+public record DeadLetterReplayJobResponse(
+        @Schema(description = "Job identifier") UUID jobId,
+        @Schema(description = "RUNNING, COMPLETED or FAILED") String status,
+        @Schema(description = "Records sent per second") int ratePerSecond,
+        @Schema(description = "Records matching the filter when the job started") long total,
+        @Schema(description = "Records sent back to their original topic") long replayed,
+        @Schema(description = "Records that could not be sent") long failed,
+        @Schema(description = "Last error, if the job failed") String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+}
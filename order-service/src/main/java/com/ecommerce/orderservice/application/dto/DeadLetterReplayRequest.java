@@ -0,0 +1,34 @@
+package com.ecommerce.orderservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Filter and throttle settings for replaying stored dead letters")
+public record DeadLetterReplayRequest(
+
+        @Schema(description = "Original topic of the records to replay (all topics when empty)", example = "order-created")
+        String topic,
+
+        @Schema(description = "Fully qualified exception class that sent the records to the DLT", example = "org.springframework.kafka.listener.ListenerExecutionFailedException")
+        String exceptionClass,
+
+        @Schema(description = "Only records received at or after this time", example = "2025-08-18T00:00:00")
+        LocalDateTime from,
+
+        @Schema(description = "Only records received before this time", example = "2025-08-19T00:00:00")
+        LocalDateTime to,
+
+        @Positive(message = "Rate must be positive")
+        @Schema(description = "Maximum records sent per second (service default when empty)", example = "50")
+        Integer ratePerSecond,
+
+        @Positive(message = "Max records must be positive")
+        @Schema(description = "Maximum number of records to replay (all matches when empty)", example = "1000")
+        Integer maxRecords,
+
+        @Schema(description = "Also retry records whose previous replay failed", example = "false")
+        boolean includeFailed
+) {
+}
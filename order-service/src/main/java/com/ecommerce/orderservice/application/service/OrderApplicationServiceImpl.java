@@ -263,48 +263,55 @@ public class OrderApplicationServiceImpl implements OrderApplicationService {
         return mapper.toResponse(order, itemResponses);
     }
 
-    private List<OrderItemResponse> validateAndGetOrderItemResponses(List<OrderItemRequest> items, String token) {
-        // Validate No Duplicates
-        Set<Long> uniqueIds = new HashSet<>();
+    /**
+     * Validates the requested items against the product-service and resolves their current name and price.
+     * Package-private so the JMH benchmarks can exercise it directly.
+     *
+     * @param items The requested order items.
+     * @param token The user's authentication token.
+     * @return The validated items with product details.
+     */
+    List<OrderItemResponse> validateAndGetOrderItemResponses(List<OrderItemRequest> items, String token) {
+        // Validate no duplicates while indexing the requested quantities
+        Map<Long, Integer> quantities = HashMap.newHashMap(items.size());
         for (OrderItemRequest item : items) {
-            if (!uniqueIds.add(item.productId())) {
+            if (quantities.putIfAbsent(item.productId(), item.quantity()) != null) {
                 throw new OrderValidationException(ExceptionError.ORDER_DUPLICATE_PRODUCT, item.productId());
             }
         }
 
         BatchProductResponse batchResponse = productServicePort.verifyAndGetProducts(new BatchProductRequest(items), token);
 
-        // Check errors
-        List<String> errors = batchResponse.products().stream()
-                .filter(response -> response.error() != null)
-                .map(response -> String.format("Product ID %d: %s", response.productId(), response.error()))
-                .toList();
-
-        if (!errors.isEmpty()) {
-            throw new OrderValidationException(String.join("; ", errors));
-        }
-
-        return batchResponse.products().stream()
-                .map(response -> new OrderItemResponse(
+        List<OrderItemResponse> responses = new ArrayList<>(batchResponse.products().size());
+        StringBuilder errors = null;
+        for (BatchProductItemResponse response : batchResponse.products()) {
+            if (response.error() != null) {
+                errors = (errors == null ? new StringBuilder() : errors.append("; "))
+                        .append("Product ID ").append(response.productId()).append(": ").append(response.error());
+            } else if (errors == null) {
+                responses.add(new OrderItemResponse(
                         response.productId(),
                         response.name(),
-                        items.stream()
-                                .filter(item -> item.productId().equals(response.productId()))
-                                .findFirst()
-                                .orElseThrow()
-                                .quantity(),
+                        quantities.get(response.productId()),
                         response.price()
-                ))
-                .toList();
+                ));
+            }
+        }
+
+        if (errors != null) {
+            throw new OrderValidationException(errors.toString());
+        }
+        return responses;
     }
 
     /**
      * Calculates the total price of all items in a list.
+     * Package-private so the JMH benchmarks can exercise it directly.
      *
      * @param items The list of order items.
      * @return The total price.
      */
-    private BigDecimal calculateTotalPrice(List<OrderItemResponse> items) {
+    BigDecimal calculateTotalPrice(List<OrderItemResponse> items) {
         return items.stream()
                 .map(item -> item.unitPrice().multiply(BigDecimal.valueOf(item.quantity())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
@@ -0,0 +1,10 @@
+package com.ecommerce.orderservice.domain.exception;
+
+import com.ecommerce.shared.domain.exception.ExceptionError;
+import com.ecommerce.shared.domain.exception.ServiceException;
+
+public class DeadLetterReplayException extends ServiceException {
+    public DeadLetterReplayException(String message, Object... messageArgs) {
+        super(ExceptionError.ORDER_DEAD_LETTER_REPLAY_RUNNING, message, messageArgs);
+    }
+}
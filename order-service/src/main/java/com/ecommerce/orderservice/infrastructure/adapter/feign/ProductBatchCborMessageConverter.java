@@ -0,0 +1,127 @@
+package com.ecommerce.orderservice.infrastructure.adapter.feign;
+
+import com.ecommerce.orderservice.application.dto.BatchProductItemResponse;
+import com.ecommerce.orderservice.application.dto.BatchProductRequest;
+import com.ecommerce.orderservice.application.dto.BatchProductResponse;
+import com.ecommerce.orderservice.application.dto.OrderItemRequest;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link BatchProductRequest} and reads {@link BatchProductResponse} in the binary format described by
+ * {@link BatchValidationWireFormat}, for {@link ProductFeignClient#verifyAndGetProductsBinary}.
+ * <p>
+ * The response is decoded item by item straight from the connection stream, without buffering the body.
+ */
+@Component
+public class ProductBatchCborMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    public ProductBatchCborMessageConverter() {
+        super(BatchValidationWireFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return clazz == BatchProductRequest.class || clazz == BatchProductResponse.class;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return clazz == BatchProductResponse.class && canRead(mediaType);
+    }
+
+    /**
+     * Only writes when the binary format was negotiated: unlike the default, a missing media type does not match,
+     * so JSON clients never receive CBOR.
+     */
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        return clazz == BatchProductRequest.class && mediaType != null && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object body, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        List<OrderItemRequest> items = ((BatchProductRequest) body).items();
+        try (CBORGenerator generator = cborFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            generator.writeStartArray(items, 1 + 2 * items.size());
+            generator.writeNumber(BatchValidationWireFormat.VERSION);
+            for (OrderItemRequest item : items) {
+                if (item.productId() != null) {
+                    generator.writeNumber(item.productId());
+                } else {
+                    generator.writeNull();
+                }
+                if (item.quantity() != null) {
+                    generator.writeNumber(item.quantity());
+                } else {
+                    generator.writeNull();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = cborFactory.createParser(StreamUtils.nonClosing(inputMessage.getBody()))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Batch validation response must be an array", inputMessage);
+            }
+            if (parser.nextToken() != JsonToken.VALUE_NUMBER_INT
+                    || parser.getIntValue() != BatchValidationWireFormat.VERSION) {
+                throw new HttpMessageNotReadableException("Unsupported batch validation version", inputMessage);
+            }
+            List<BatchProductItemResponse> products = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_ARRAY) {
+                products.add(readItem(parser));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new HttpMessageNotReadableException("Expected a product item but found " + token, inputMessage);
+            }
+            return new BatchProductResponse(products);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed batch validation response: " + e.getOriginalMessage(),
+                    e, inputMessage);
+        }
+    }
+
+    private static BatchProductItemResponse readItem(JsonParser parser) throws IOException {
+        Long productId = parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+        String name = parser.nextTextValue();
+        BigDecimal price = parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+        boolean available = parser.nextToken() == JsonToken.VALUE_TRUE;
+        Integer availableUnits = parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+        String error = parser.nextTextValue();
+        // Fields appended by a newer product-service are skipped
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Truncated product item");
+            }
+            parser.skipChildren();
+        }
+        return new BatchProductItemResponse(productId, name, price, available, availableUnits, error);
+    }
+}
@@ -3,28 +3,99 @@ package com.ecommerce.orderservice.infrastructure.adapter.feign;
 import com.ecommerce.orderservice.application.dto.*;
 import com.ecommerce.orderservice.domain.exception.OrderValidationException;
 import com.ecommerce.orderservice.domain.port.out.ProductServicePort;
+import com.ecommerce.orderservice.infrastructure.properties.ProductValidationProperties;
 import com.ecommerce.shared.domain.exception.ExceptionError;
 import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
+/**
+ * Feign based implementation of {@link ProductServicePort}.
+ * <p>
+ * Large carts are validated in chunks of {@code product-service.validation.chunk-size} items, dispatched
+ * concurrently on virtual threads (at most {@code max-concurrency} per cart) and merged in chunk order as they complete.
+ * The circuit breaker wraps the whole cart, so any failing chunk fails the validation. With
+ * {@code product-service.validation.binary} the chunks use the CBOR contract instead of JSON.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProductFeignAdapter implements ProductServicePort {
 
     private static final String SERVICE_NAME = "Product";
     private final ProductFeignClient productFeignClient;
+    private final ProductValidationProperties validationProperties;
+    private final ExecutorService chunkExecutor;
+
+    public ProductFeignAdapter(ProductFeignClient productFeignClient, ProductValidationProperties validationProperties) {
+        this.productFeignClient = productFeignClient;
+        this.validationProperties = validationProperties;
+        // Propagate the tracing context to the chunk requests
+        ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        this.chunkExecutor = ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor(),
+                snapshotFactory::captureAll);
+    }
 
     @Override
     @CircuitBreaker(name = "productServiceCircuit", fallbackMethod = "verifyAndGetProductsFallback")
     public BatchProductResponse verifyAndGetProducts(BatchProductRequest items, String token) {
-        return productFeignClient.verifyAndGetProducts(items, token);
+        List<OrderItemRequest> requested = items.items();
+        int chunkSize = validationProperties.chunkSize();
+        if (requested.size() <= chunkSize) {
+            return verify(items, token);
+        }
+
+        // Bounds the chunks of this cart only; carts validated concurrently do not wait for each other
+        Semaphore permits = new Semaphore(validationProperties.maxConcurrency());
+        List<Future<BatchProductResponse>> chunks = new ArrayList<>((requested.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < requested.size(); from += chunkSize) {
+            BatchProductRequest chunk = new BatchProductRequest(
+                    requested.subList(from, Math.min(from + chunkSize, requested.size())));
+            chunks.add(chunkExecutor.submit(() -> verifyChunk(chunk, token, permits)));
+        }
+        log.debug("Validating {} products in {} chunks", requested.size(), chunks.size());
+
+        List<BatchProductItemResponse> merged = new ArrayList<>(requested.size());
+        long deadline = System.nanoTime() + validationProperties.timeout().toNanos();
+        try {
+            for (Future<BatchProductResponse> chunk : chunks) {
+                merged.addAll(chunk.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS).products());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out validating " + requested.size() + " products", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating products", e);
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(true));
+        }
+        return new BatchProductResponse(merged);
+    }
+
+    private BatchProductResponse verifyChunk(BatchProductRequest chunk, String token, Semaphore permits)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return verify(chunk, token);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BatchProductResponse verify(BatchProductRequest items, String token) {
+        return validationProperties.binary()
+                ? productFeignClient.verifyAndGetProductsBinary(items, token)
+                : productFeignClient.verifyAndGetProducts(items, token);
     }
 
     @Override
@@ -46,6 +117,11 @@ public class ProductFeignAdapter implements ProductServicePort {
         throw handleError(errorMessage, request.productIds(), t);
     }
 
+    @PreDestroy
+    void shutdown() {
+        chunkExecutor.shutdownNow();
+    }
+
     private OrderValidationException handleError(String errorMessage, List<Long> productIds, Throwable t) {
         String details = t.getMessage() != null ? t.getMessage() : errorMessage + " for products: " + productIds;
         String productIdsStr = productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
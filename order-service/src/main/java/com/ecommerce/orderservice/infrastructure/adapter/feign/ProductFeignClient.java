@@ -4,7 +4,10 @@ import com.ecommerce.orderservice.application.dto.BatchProductDetailsRequest;
 import com.ecommerce.orderservice.application.dto.BatchProductDetailsResponse;
 import com.ecommerce.orderservice.application.dto.BatchProductRequest;
 import com.ecommerce.orderservice.application.dto.BatchProductResponse;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -15,10 +18,21 @@ import java.util.List;
 @FeignClient(name = "product-service", path = "/products")
 public interface ProductFeignClient {
 
-    @PostMapping("/batch")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
     BatchProductResponse verifyAndGetProducts(@RequestBody BatchProductRequest items,
                                               @RequestHeader("Authorization") String token);
 
+    /**
+     * Same call as {@link #verifyAndGetProducts} in the binary format of {@link BatchValidationWireFormat}. JSON is
+     * accepted as well so that error responses can still be read. The {@code Accept} header is set explicitly because
+     * Feign only sends the first {@code produces} type.
+     */
+    @PostMapping(value = "/batch", consumes = BatchValidationWireFormat.MEDIA_TYPE_VALUE,
+            headers = HttpHeaders.ACCEPT + "=" + BatchValidationWireFormat.MEDIA_TYPE_VALUE + ", "
+                    + MediaType.APPLICATION_JSON_VALUE)
+    BatchProductResponse verifyAndGetProductsBinary(@RequestBody BatchProductRequest items,
+                                                    @RequestHeader("Authorization") String token);
+
     @PostMapping("/details")
     List<BatchProductDetailsResponse> getProductsDetailsInBatch(@RequestBody BatchProductDetailsRequest request,
                                                                 @RequestHeader("Authorization") String token);
@@ -1,34 +1,104 @@
 package com.ecommerce.orderservice.infrastructure.adapter.kafka;
 
-import io.cloudevents.CloudEvent;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterEntity;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterStatus;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.repository.DeadLetterJpaRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
 /**
  * Listener for centralized Dead Letter Topics (DLTs).
  * <p>
  * Purpose:
  * - Capture messages that could not be processed after retries.
- * - Log details for debugging.
- * - Optionally persist into a database for auditing/reprocessing.
+ * - Persist them untouched (payload bytes, headers, source position and exception) in batches,
+ * so they can be inspected and replayed through {@link DeadLetterReplayService}.
+ * <p>
+ * Records are consumed as raw bytes, which also covers payloads that failed deserialization upstream.
+ * Redelivered records (same DLT topic, partition and offset) are skipped.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class DeadLetterListener {
 
-    @KafkaListener(topics = {"order-dead-letter-topic", "product-dead-letter-topic"})
-    public void handleDeadLetter(CloudEvent event,
-                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                 @Header(KafkaHeaders.OFFSET) long offset,
-                                 @Header(KafkaHeaders.PARTITION) int partition) {
-        log.error("Dead letter received on {} (partition {}, offset {}): {}",
-                topic, partition, offset, event);
+    private final DeadLetterJpaRepository deadLetterRepository;
+
+    @KafkaListener(topics = {"order-dead-letter-topic", "product-dead-letter-topic"},
+            containerFactory = "deadLetterContainerFactory")
+    public void handleDeadLetters(List<ConsumerRecord<byte[], byte[]>> records) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<DeadLetterEntity> entities = new ArrayList<>(records.size());
+
+        Map<TopicPartition, List<ConsumerRecord<byte[], byte[]>>> byPartition = records.stream()
+                .collect(Collectors.groupingBy(r -> new TopicPartition(r.topic(), r.partition())));
+        byPartition.forEach((tp, partitionRecords) -> {
+            Set<Long> stored = new HashSet<>(deadLetterRepository.findStoredOffsets(tp.topic(), tp.partition(),
+                    partitionRecords.stream().map(ConsumerRecord::offset).toList()));
+            partitionRecords.stream()
+                    .filter(r -> !stored.contains(r.offset()))
+                    .map(r -> toEntity(r, receivedAt))
+                    .forEach(entities::add);
+        });
 
-        // TODO: opcional -> persistir en tabla dead_letters
-        // deadLetterRepository.save(new DeadLetterMessage(topic, offset, event));
+        deadLetterRepository.saveAll(entities);
+        entities.forEach(e -> log.error("Dead letter stored from {} (partition {}, offset {}): {} - {}",
+                e.getOriginalTopic(), e.getOriginalPartition(), e.getOriginalOffset(),
+                e.getExceptionClass(), e.getExceptionMessage()));
+        if (entities.size() < records.size()) {
+            log.info("Skipped {} dead letters already stored", records.size() - entities.size());
+        }
+    }
+
+    private DeadLetterEntity toEntity(ConsumerRecord<byte[], byte[]> record, LocalDateTime receivedAt) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : record.headers()) {
+            headers.put(header.key(), header.value() == null ? null : Base64.getEncoder().encodeToString(header.value()));
+        }
+
+        DeadLetterEntity entity = new DeadLetterEntity();
+        entity.setDltTopic(record.topic());
+        entity.setDltPartition(record.partition());
+        entity.setDltOffset(record.offset());
+        entity.setOriginalTopic(headerString(record, KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        entity.setOriginalPartition(headerInt(record));
+        entity.setOriginalOffset(headerLong(record));
+        entity.setRecordKey(record.key() == null ? null : new String(record.key(), StandardCharsets.UTF_8));
+        entity.setHeaders(headers);
+        entity.setPayload(record.value());
+        entity.setExceptionClass(headerString(record, KafkaHeaders.DLT_EXCEPTION_FQCN));
+        entity.setExceptionMessage(headerString(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        entity.setStatus(DeadLetterStatus.NEW);
+        entity.setReceivedAt(receivedAt);
+        return entity;
+    }
+
+    private static String headerString(ConsumerRecord<byte[], byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
     }
-}
 
+    private static Integer headerInt(ConsumerRecord<byte[], byte[]> record) {
+        Header header = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        return header == null || header.value() == null || header.value().length != Integer.BYTES
+                ? null : ByteBuffer.wrap(header.value()).getInt();
+    }
+
+    private static Long headerLong(ConsumerRecord<byte[], byte[]> record) {
+        Header header = record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        return header == null || header.value() == null || header.value().length != Long.BYTES
+                ? null : ByteBuffer.wrap(header.value()).getLong();
+    }
+}
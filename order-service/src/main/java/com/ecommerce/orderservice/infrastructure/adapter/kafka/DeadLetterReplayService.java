@@ -0,0 +1,248 @@
+package com.ecommerce.orderservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayJobResponse;
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayRequest;
+import com.ecommerce.orderservice.domain.exception.DeadLetterReplayException;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterEntity;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterStatus;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.repository.DeadLetterJpaRepository;
+import com.ecommerce.orderservice.infrastructure.properties.DeadLetterProperties;
+import com.ecommerce.shared.domain.exception.ResourceNotFoundException;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replays stored dead letters to their original topics.
+ * <p>
+ * A job walks the matching records with keyset pagination, sends each page through a byte-array producer
+ * (payload and headers are restored unchanged, previous {@code kafka_dlt-*} headers are dropped) and marks the
+ * page as REPLAYED or REPLAY_FAILED. Sending is throttled with a resilience4j {@link RateLimiter} so a large
+ * backlog does not flood the consumers. Only one job runs at a time; progress is kept in memory.
+ * <p>
+ * The producer is built here instead of being a bean: declaring a second {@link KafkaTemplate} would disable
+ * Spring Boot's auto-configured CloudEvent template.
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayService {
+
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+    private static final String REPLAY_HEADER = "x-dead-letter-replay";
+
+    private final DeadLetterJpaRepository deadLetterRepository;
+    private final DeadLetterProperties properties;
+    private final DefaultKafkaProducerFactory<byte[], byte[]> producerFactory;
+    private final KafkaTemplate<byte[], byte[]> replayTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("dlt-replay-", 0).factory());
+    private final Map<UUID, ReplayJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<ReplayJob> runningJob = new AtomicReference<>();
+
+    public DeadLetterReplayService(DeadLetterJpaRepository deadLetterRepository,
+                                   DeadLetterProperties properties,
+                                   KafkaProperties kafkaProperties) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.properties = properties;
+        this.producerFactory = new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null),
+                new ByteArraySerializer(), new ByteArraySerializer());
+        this.replayTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Starts a replay job for the dead letters matching the request.
+     *
+     * @param request filter and rate settings
+     * @return the initial job progress
+     * @throws DeadLetterReplayException if another job is still running
+     */
+    public DeadLetterReplayJobResponse startReplay(DeadLetterReplayRequest request) {
+        int rate = Math.min(Optional.ofNullable(request.ratePerSecond()).orElse(properties.defaultRatePerSecond()),
+                properties.maxRatePerSecond());
+        List<DeadLetterStatus> statuses = request.includeFailed()
+                ? List.of(DeadLetterStatus.NEW, DeadLetterStatus.REPLAY_FAILED)
+                : List.of(DeadLetterStatus.NEW);
+        long matching = deadLetterRepository.countReplayCandidates(statuses, request.topic(), request.exceptionClass(),
+                request.from(), request.to());
+        long total = request.maxRecords() == null ? matching : Math.min(matching, request.maxRecords());
+
+        ReplayJob job = new ReplayJob(UUID.randomUUID(), request, statuses, rate, total);
+        while (!runningJob.compareAndSet(null, job)) {
+            ReplayJob running = runningJob.get();
+            if (running != null) {
+                throw new DeadLetterReplayException("Replay already running", running.id);
+            }
+            // The running job finished in between: the slot is free again
+        }
+        jobs.put(job.id, job);
+        log.info("Starting dead letter replay {} for {} records at {}/s", job.id, total, rate);
+        executor.execute(() -> run(job));
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the progress of a replay job started since the last restart.
+     *
+     * @param jobId the job identifier
+     * @return the job progress
+     * @throws ResourceNotFoundException if the job is unknown
+     */
+    public DeadLetterReplayJobResponse getJob(UUID jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Dead letter replay job", jobId.toString());
+        }
+        return job.toResponse();
+    }
+
+    private void run(ReplayJob job) {
+        RateLimiter rateLimiter = RateLimiter.of("dlt-replay-" + job.id, RateLimiterConfig.custom()
+                .limitForPeriod(job.ratePerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        DeadLetterReplayRequest filter = job.request;
+        LocalDateTime afterReceivedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        UUID afterId = new UUID(0L, 0L);
+        try {
+            while (job.processed() < job.total) {
+                int pageSize = (int) Math.min(properties.replayPageSize(), job.total - job.processed());
+                List<DeadLetterEntity> page = deadLetterRepository.findReplayPage(job.statuses, filter.topic(),
+                        filter.exceptionClass(), filter.from(), filter.to(), afterReceivedAt, afterId,
+                        PageRequest.ofSize(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                replayPage(job, page, rateLimiter);
+                DeadLetterEntity last = page.getLast();
+                afterReceivedAt = last.getReceivedAt();
+                afterId = last.getId();
+            }
+            job.finish("COMPLETED", null);
+        } catch (Exception e) {
+            log.error("Dead letter replay {} failed: {}", job.id, e.getMessage(), e);
+            job.finish("FAILED", e.getMessage());
+        } finally {
+            runningJob.compareAndSet(job, null);
+            log.info("Dead letter replay {} finished: {} replayed, {} failed", job.id, job.replayed, job.failed);
+        }
+    }
+
+    private void replayPage(ReplayJob job, List<DeadLetterEntity> page, RateLimiter rateLimiter) {
+        Map<UUID, CompletableFuture<?>> sends = new LinkedHashMap<>(page.size() * 2);
+        for (DeadLetterEntity deadLetter : page) {
+            if (deadLetter.getOriginalTopic() == null) {
+                sends.put(deadLetter.getId(), CompletableFuture.failedFuture(
+                        new IllegalStateException("Unknown original topic")));
+                continue;
+            }
+            if (!rateLimiter.acquirePermission()) {
+                throw new IllegalStateException("Timed out waiting for replay rate limiter");
+            }
+            sends.put(deadLetter.getId(), replayTemplate.send(toProducerRecord(job, deadLetter)));
+        }
+
+        List<UUID> replayed = new ArrayList<>(page.size());
+        List<UUID> failed = new ArrayList<>();
+        sends.forEach((id, future) -> {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                replayed.add(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(id);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Failed to replay dead letter {}: {}", id, e.getMessage());
+                failed.add(id);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!replayed.isEmpty()) {
+            deadLetterRepository.updateStatus(replayed, DeadLetterStatus.REPLAYED, now);
+        }
+        if (!failed.isEmpty()) {
+            deadLetterRepository.updateStatus(failed, DeadLetterStatus.REPLAY_FAILED, now);
+        }
+        job.replayed.addAndGet(replayed.size());
+        job.failed.addAndGet(failed.size());
+    }
+
+    private ProducerRecord<byte[], byte[]> toProducerRecord(ReplayJob job, DeadLetterEntity deadLetter) {
+        byte[] key = deadLetter.getRecordKey() == null ? null : deadLetter.getRecordKey().getBytes(StandardCharsets.UTF_8);
+        ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(deadLetter.getOriginalTopic(), key,
+                deadLetter.getPayload());
+        if (deadLetter.getHeaders() != null) {
+            deadLetter.getHeaders().forEach((name, value) -> {
+                if (!name.startsWith(DLT_HEADER_PREFIX)) {
+                    record.headers().add(name, value == null ? null : Base64.getDecoder().decode(value));
+                }
+            });
+        }
+        record.headers().add(REPLAY_HEADER, job.id.toString().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        producerFactory.destroy();
+    }
+
+    /**
+     * In-memory progress of a replay job.
+     */
+    private static final class ReplayJob {
+        private final UUID id;
+        private final DeadLetterReplayRequest request;
+        private final List<DeadLetterStatus> statuses;
+        private final int ratePerSecond;
+        private final long total;
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private ReplayJob(UUID id, DeadLetterReplayRequest request, List<DeadLetterStatus> statuses,
+                          int ratePerSecond, long total) {
+            this.id = id;
+            this.request = request;
+            this.statuses = statuses;
+            this.ratePerSecond = ratePerSecond;
+            this.total = total;
+        }
+
+        private long processed() {
+            return replayed.get() + failed.get();
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private DeadLetterReplayJobResponse toResponse() {
+            return new DeadLetterReplayJobResponse(id, status, ratePerSecond, total, replayed.get(), failed.get(),
+                    error, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.entity;
+
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only copy of a terminal order moved out of {@code orders} by the archive job.
+ * Ids are preserved, so an order keeps its id once archived.
+ */
+@Getter
+@Setter
+@Entity(name = "orders_archive")
+public class ArchivedOrderEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    private Set<ArchivedOrderItemEntity> items;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Column
+    private BigDecimal totalPrice;
+
+    @Column
+    private String shippingAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+}
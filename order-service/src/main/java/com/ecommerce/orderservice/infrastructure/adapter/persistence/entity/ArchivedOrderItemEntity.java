@@ -0,0 +1,34 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read-only copy of an item of an archived order.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "order_items_archive", indexes = @Index(name = "idx_order_items_archive_order", columnList = "order_id"))
+public class ArchivedOrderItemEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column
+    private Long productId;
+
+    @Column
+    private Integer quantity;
+
+    @Column
+    private BigDecimal unitPrice;
+
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Raw copy of a record received on a dead-letter topic.
+ * <p>
+ * The payload and headers are kept byte-for-byte (header values Base64 encoded) so the record can be replayed
+ * unchanged to its original topic. The id is assigned by Hibernate before the insert, which allows JDBC batching.
+ */
+@Getter
+@Setter
+@Entity(name = "dead_letters")
+@Table(indexes = {
+        @Index(name = "idx_dead_letters_status_received", columnList = "status, receivedAt"),
+        @Index(name = "uk_dead_letters_position", columnList = "dltTopic, dltPartition, dltOffset", unique = true)
+})
+public class DeadLetterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String dltTopic;
+
+    @Column(nullable = false)
+    private int dltPartition;
+
+    @Column(nullable = false)
+    private long dltOffset;
+
+    @Column
+    private String originalTopic;
+
+    @Column
+    private Integer originalPartition;
+
+    @Column
+    private Long originalOffset;
+
+    @Column
+    private String recordKey;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> headers;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    @Column
+    private String exceptionClass;
+
+    @Column(columnDefinition = "TEXT")
+    private String exceptionMessage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeadLetterStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column
+    private LocalDateTime replayedAt;
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.entity;
+
+/**
+ * Lifecycle of a stored dead letter.
+ */
+public enum DeadLetterStatus {
+    NEW,
+    REPLAYED,
+    REPLAY_FAILED
+}
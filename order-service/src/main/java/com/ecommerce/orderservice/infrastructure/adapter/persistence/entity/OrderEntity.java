@@ -13,6 +13,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity(name = "orders")
+@Table(indexes = @Index(name = "idx_orders_status_updated", columnList = "status, updatedAt"))
 public class OrderEntity {
 
     @Id
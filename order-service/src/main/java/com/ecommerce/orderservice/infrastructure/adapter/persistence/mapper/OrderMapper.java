@@ -4,6 +4,7 @@ import com.ecommerce.orderservice.application.dto.OrderItemResponse;
 import com.ecommerce.orderservice.application.dto.OrderResponse;
 import com.ecommerce.orderservice.domain.model.Order;
 import com.ecommerce.orderservice.domain.model.OrderItem;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.ArchivedOrderEntity;
 import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.OrderEntity;
 import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.OrderItemEntity;
 import org.springframework.stereotype.Component;
@@ -35,6 +36,26 @@ public class OrderMapper {
         );
     }
 
+    public Order toDomain(ArchivedOrderEntity entity) {
+        return new Order(
+                entity.getId(),
+                entity.getUserId(),
+                new LinkedHashSet<>(entity.getItems().stream()
+                        .map(item -> new OrderItem(
+                                item.getId(),
+                                item.getProductId(),
+                                item.getQuantity(),
+                                item.getUnitPrice()
+                        ))
+                        .toList()),
+                entity.getStatus(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getTotalPrice(),
+                entity.getShippingAddress()
+        );
+    }
+
     public OrderEntity toEntity(Order order) {
         OrderEntity entity = new OrderEntity();
         entity.setId(order.id());
@@ -0,0 +1,33 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.ArchivedOrderEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedOrderJpaRepository extends JpaRepository<ArchivedOrderEntity, UUID> {
+
+    @EntityGraph(attributePaths = "items")
+    Optional<ArchivedOrderEntity> findWithItemsById(UUID id);
+
+    @Modifying
+    @Query("INSERT INTO orders_archive (id, userId, status, createdAt, updatedAt, totalPrice, shippingAddress, archivedAt) " +
+            "SELECT o.id, o.userId, o.status, o.createdAt, o.updatedAt, o.totalPrice, o.shippingAddress, :archivedAt " +
+            "FROM orders o WHERE o.id IN :ids")
+    int copyOrders(@Param("ids") Collection<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedOrderItemEntity (id, orderId, productId, quantity, unitPrice) " +
+            "SELECT i.id, i.order.id, i.productId, i.quantity, i.unitPrice " +
+            "FROM OrderItemEntity i WHERE i.order.id IN :ids")
+    int copyItems(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterEntity;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.DeadLetterStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DeadLetterJpaRepository extends JpaRepository<DeadLetterEntity, UUID> {
+
+    /**
+     * Offsets of a DLT partition that are already stored, used to skip redelivered records.
+     */
+    @Query("SELECT d.dltOffset FROM dead_letters d " +
+            "WHERE d.dltTopic = :topic AND d.dltPartition = :partition AND d.dltOffset IN :offsets")
+    List<Long> findStoredOffsets(@Param("topic") String topic,
+                                 @Param("partition") int partition,
+                                 @Param("offsets") Collection<Long> offsets);
+
+    /**
+     * Keyset page over the dead letters matching a replay filter, ordered by (receivedAt, id).
+     * Null filter values match everything.
+     */
+    @Query("SELECT d FROM dead_letters d " +
+            "WHERE d.status IN :statuses " +
+            "AND (:topic IS NULL OR d.originalTopic = :topic) " +
+            "AND (:exceptionClass IS NULL OR d.exceptionClass = :exceptionClass) " +
+            "AND (:from IS NULL OR d.receivedAt >= :from) " +
+            "AND (:to IS NULL OR d.receivedAt < :to) " +
+            "AND (d.receivedAt > :afterReceivedAt OR (d.receivedAt = :afterReceivedAt AND d.id > :afterId)) " +
+            "ORDER BY d.receivedAt, d.id")
+    List<DeadLetterEntity> findReplayPage(@Param("statuses") Collection<DeadLetterStatus> statuses,
+                                          @Param("topic") String topic,
+                                          @Param("exceptionClass") String exceptionClass,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("afterReceivedAt") LocalDateTime afterReceivedAt,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    @Query("SELECT COUNT(d) FROM dead_letters d " +
+            "WHERE d.status IN :statuses " +
+            "AND (:topic IS NULL OR d.originalTopic = :topic) " +
+            "AND (:exceptionClass IS NULL OR d.exceptionClass = :exceptionClass) " +
+            "AND (:from IS NULL OR d.receivedAt >= :from) " +
+            "AND (:to IS NULL OR d.receivedAt < :to)")
+    long countReplayCandidates(@Param("statuses") Collection<DeadLetterStatus> statuses,
+                               @Param("topic") String topic,
+                               @Param("exceptionClass") String exceptionClass,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE dead_letters d SET d.status = :status, d.replayedAt = :replayedAt WHERE d.id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") DeadLetterStatus status,
+                     @Param("replayedAt") LocalDateTime replayedAt);
+}
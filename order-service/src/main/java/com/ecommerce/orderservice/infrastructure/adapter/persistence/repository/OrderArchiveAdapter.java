@@ -0,0 +1,59 @@
+package com.ecommerce.orderservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.OrderEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves terminal orders (FULFILLED, CANCELLED) and their items from the hot tables to
+ * {@code orders_archive} / {@code order_items_archive}.
+ * <p>
+ * Each batch is copied with INSERT ... SELECT and deleted in a single transaction, so an order is always in exactly
+ * one of the two tables. Candidate rows are locked with SKIP LOCKED, which lets several instances run the job
+ * without moving the same order twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveAdapter {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.FULFILLED, OrderStatus.CANCELLED);
+
+    private final OrderJpaRepository orderRepository;
+    private final ArchivedOrderJpaRepository archivedRepository;
+
+    /**
+     * Archives at most {@code batchSize} terminal orders last updated before {@code cutoff}.
+     *
+     * @param cutoff    orders updated after this instant stay in the hot table
+     * @param batchSize maximum number of orders moved
+     * @return the number of orders archived
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<UUID> ids = orderRepository.lockArchivable(TERMINAL_STATUSES, cutoff, PageRequest.ofSize(batchSize))
+                .stream()
+                .map(OrderEntity::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedRepository.copyOrders(ids, LocalDateTime.now());
+        int items = archivedRepository.copyItems(ids);
+        orderRepository.deleteItemsByOrderIds(ids);
+        int orders = orderRepository.deleteByIds(ids);
+        log.debug("Archived {} orders with {} items", orders, items);
+        return orders;
+    }
+}
@@ -1,12 +1,38 @@
 package com.ecommerce.orderservice.infrastructure.adapter.persistence.repository;
 
+import com.ecommerce.orderservice.domain.model.OrderStatus;
 import com.ecommerce.orderservice.infrastructure.adapter.persistence.entity.OrderEntity;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
-}
 
+    /**
+     * Locks the oldest orders in the given states last updated before the cutoff.
+     * Rows locked by another instance are skipped (lock timeout -2 = SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM orders o WHERE o.status IN :statuses AND o.updatedAt < :cutoff ORDER BY o.updatedAt")
+    List<OrderEntity> lockArchivable(@Param("statuses") Collection<OrderStatus> statuses,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderItemEntity i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM orders o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
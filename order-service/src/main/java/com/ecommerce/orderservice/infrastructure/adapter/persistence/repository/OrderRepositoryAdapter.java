@@ -16,12 +16,16 @@ import java.util.UUID;
  * Adapter that implements the OrderRepositoryPort.
  * It uses Spring Data JPA to interact with the database and maps between
  * domain models and persistence entities.
+ * <p>
+ * Terminal orders moved by {@link OrderArchiveAdapter} are only looked up in the archive when the id is not
+ * found in the hot table; paginated listings cover the hot table only.
  */
 @Component
 @RequiredArgsConstructor
 public class OrderRepositoryAdapter implements OrderRepositoryPort {
 
     private final OrderJpaRepository jpaRepository;
+    private final ArchivedOrderJpaRepository archivedRepository;
     private final OrderMapper mapper;
 
     @Override
@@ -35,6 +39,7 @@ public class OrderRepositoryAdapter implements OrderRepositoryPort {
     public Order findById(UUID id) {
         return jpaRepository.findById(id)
                 .map(mapper::toDomain)
+                .or(() -> archivedRepository.findWithItemsById(id).map(mapper::toDomain))
                 .orElseThrow(() -> new ResourceNotFoundException("Order", id.toString()));
     }
 
@@ -1,22 +1,30 @@
 package com.ecommerce.orderservice.infrastructure.configuration;
 
+import com.ecommerce.orderservice.infrastructure.properties.DeadLetterProperties;
 import io.cloudevents.CloudEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
 import org.springframework.util.backoff.FixedBackOff;
 
+import java.util.Map;
+
 /**
  * Configures Kafka for the order service, including listener factory, error handling, and topics.
  */
@@ -27,6 +35,8 @@ public class OrderKafkaConfig {
 
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
     private final ConsumerFactory<String, CloudEvent> consumerFactory;
+    private final KafkaProperties kafkaProperties;
+    private final DeadLetterProperties deadLetterProperties;
 
     /**
      * Configures the Kafka listener container factory for processing CloudEvent messages.
@@ -45,6 +55,34 @@ public class OrderKafkaConfig {
         return factory;
     }
 
+    /**
+     * Configures the batch listener container factory used to persist dead-letter topics.
+     * Records are read as raw bytes in their own consumer group, starting from the earliest offset so nothing
+     * published before the store existed is lost. A failing batch (e.g. database down) is retried with an
+     * exponential backoff instead of being skipped.
+     *
+     * @return the configured batch listener container factory
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<byte[], byte[]> deadLetterContainerFactory() {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, deadLetterProperties.storeGroupId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(60000L);
+
+        ConcurrentKafkaListenerContainerFactory<byte[], byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props,
+                new ByteArrayDeserializer(), new ByteArrayDeserializer()));
+        factory.setBatchListener(true);
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+
     /**
      * Configures error handling with a DeadLetterPublishingRecoverer for failed messages.
      * Uses a fixed backoff policy with 3 retries and a -1 second interval.
@@ -0,0 +1,27 @@
+package com.ecommerce.orderservice.infrastructure.configuration;
+
+import com.ecommerce.orderservice.domain.event.OrderEventType;
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hard limits on the tag values the saga meters of {@link OrderStateMachineMetricsListener} may produce.
+ * Each filter only applies to its own meter name, so other meters of the service are unaffected.
+ */
+@Configuration
+public class OrderSagaMetricsConfig {
+
+    @Bean
+    public MeterFilter orderSagaTransitionTagFilter() {
+        return MeterFilter.maximumAllowableTags(OrderStateMachineMetricsListener.TRANSITION_METRIC, "event",
+                OrderEventType.values().length + 1, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter orderSagaDurationTagFilter() {
+        return MeterFilter.maximumAllowableTags(OrderStateMachineMetricsListener.DURATION_METRIC, "outcome",
+                OrderStatus.values().length, MeterFilter.deny());
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.statemachine.StateContext;
 import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
+import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineStateConfigurer;
 import org.springframework.statemachine.config.builders.StateMachineTransitionConfigurer;
 import org.springframework.statemachine.guard.Guard;
@@ -35,6 +36,20 @@ public class OrderStateMachineConfig extends EnumStateMachineConfigurerAdapter<O
 
     private final OrderEventPublisherPort eventPublisher;
     private final OrderStateMachinePersister delegatePersister;
+    private final OrderStateMachineMetricsListener metricsListener;
+
+    /**
+     * Registers the listeners attached to every state machine built by the factory.
+     *
+     * @param config the configuration configurer
+     * @throws Exception if configuration fails
+     */
+    @Override
+    public void configure(StateMachineConfigurationConfigurer<OrderStatus, OrderEventType> config) throws Exception {
+        config
+                .withConfiguration()
+                .listener(metricsListener);
+    }
 
     /**
      * Configures the states of the order state machine, including initial, intermediate, and end states.
@@ -0,0 +1,112 @@
+package com.ecommerce.orderservice.infrastructure.configuration;
+
+import com.ecommerce.orderservice.domain.event.OrderEventType;
+import com.ecommerce.orderservice.domain.model.Order;
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.listener.StateMachineListenerAdapter;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records Micrometer metrics for every transition of the order saga.
+ * <p>
+ * State machines are rebuilt from the database for each event, so the time spent in the source state is derived
+ * from the order carried in the {@code order} message header ({@code updatedAt} is refreshed on every status change,
+ * {@code createdAt} is used for orders that never changed state).
+ * <ul>
+ *     <li>{@code order.saga.transition}: timer of the time spent in the source state, tagged by source, target
+ *     and event.</li>
+ *     <li>{@code order.saga.duration}: distribution summary (seconds) from CREATED to FULFILLED or CANCELLED,
+ *     tagged by outcome.</li>
+ * </ul>
+ * All tag values come from {@link OrderStatus} and {@link OrderEventType}, so cardinality is bounded by the enums;
+ * {@link OrderSagaMetricsConfig} caps it anyway to protect the registry from future changes.
+ */
+@Slf4j
+@Component
+public class OrderStateMachineMetricsListener extends StateMachineListenerAdapter<OrderStatus, OrderEventType> {
+
+    static final String TRANSITION_METRIC = "order.saga.transition";
+    static final String DURATION_METRIC = "order.saga.duration";
+    private static final String NO_EVENT = "NONE";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> transitionTimers = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, DistributionSummary> durationSummaries = new ConcurrentHashMap<>();
+
+    public OrderStateMachineMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void stateContext(StateContext<OrderStatus, OrderEventType> stateContext) {
+        if (stateContext.getStage() != StateContext.Stage.TRANSITION_END) {
+            return;
+        }
+        Transition<OrderStatus, OrderEventType> transition = stateContext.getTransition();
+        if (transition == null || transition.getSource() == null || transition.getTarget() == null) {
+            return; // Initial transition on start/restore, nothing to measure
+        }
+        Object header = stateContext.getMessageHeader("order");
+        if (!(header instanceof Order order) || order.createdAt() == null) {
+            return; // Timer triggered transitions carry no order header
+        }
+
+        try {
+            OrderStatus source = transition.getSource().getId();
+            OrderStatus target = transition.getTarget().getId();
+            String event = stateContext.getEvent() != null ? stateContext.getEvent().name() : NO_EVENT;
+            LocalDateTime now = LocalDateTime.now();
+
+            LocalDateTime enteredAt = order.updatedAt() != null ? order.updatedAt() : order.createdAt();
+            transitionTimer(source, target, event).record(nonNegative(Duration.between(enteredAt, now)));
+
+            if (target == OrderStatus.FULFILLED || target == OrderStatus.CANCELLED) {
+                Duration total = nonNegative(Duration.between(order.createdAt(), now));
+                durationSummary(target).record(total.toMillis() / 1000.0);
+            }
+        } catch (Exception e) {
+            // Metrics must never break the saga
+            log.warn("Failed to record saga metrics for order {}: {}", order.id(), e.getMessage());
+        }
+    }
+
+    private Timer transitionTimer(OrderStatus source, OrderStatus target, String event) {
+        return transitionTimers.computeIfAbsent(source + ":" + target + ":" + event, key ->
+                Timer.builder(TRANSITION_METRIC)
+                        .description("Time an order spent in the source state before transitioning")
+                        .tag("source", source.name())
+                        .tag("target", target.name())
+                        .tag("event", event)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(10))
+                        .maximumExpectedValue(Duration.ofHours(24))
+                        .register(meterRegistry));
+    }
+
+    private DistributionSummary durationSummary(OrderStatus outcome) {
+        return durationSummaries.computeIfAbsent(outcome, key ->
+                DistributionSummary.builder(DURATION_METRIC)
+                        .description("End-to-end time from CREATED to a terminal state")
+                        .baseUnit("seconds")
+                        .tag("outcome", outcome.name())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(1.0)
+                        .maximumExpectedValue((double) Duration.ofDays(7).toSeconds())
+                        .register(meterRegistry));
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.orderservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the dead-letter store and its replay jobs.
+ *
+ * @param storeGroupId        consumer group used to persist dead-letter topics
+ * @param replayPageSize      records loaded and sent per replay iteration
+ * @param defaultRatePerSecond replay rate used when a request does not specify one
+ * @param maxRatePerSecond    upper bound accepted for a replay request
+ */
+@ConfigurationProperties(prefix = "dead-letter")
+public record DeadLetterProperties(String storeGroupId,
+                                   int replayPageSize,
+                                   int defaultRatePerSecond,
+                                   int maxRatePerSecond) {
+}
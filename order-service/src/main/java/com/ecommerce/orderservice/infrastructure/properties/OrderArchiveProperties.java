@@ -0,0 +1,20 @@
+package com.ecommerce.orderservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the terminal order archive job.
+ *
+ * @param enabled          whether the job runs
+ * @param retention        how long FULFILLED/CANCELLED orders stay in the hot table after their last update
+ * @param batchSize        orders moved per transaction
+ * @param maxBatchesPerRun upper bound of batches per run, keeps a single run short
+ */
+@ConfigurationProperties(prefix = "order.archive")
+public record OrderArchiveProperties(boolean enabled,
+                                     Duration retention,
+                                     int batchSize,
+                                     int maxBatchesPerRun) {
+}
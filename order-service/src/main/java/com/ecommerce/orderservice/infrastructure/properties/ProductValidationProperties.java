@@ -0,0 +1,20 @@
+package com.ecommerce.orderservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the product validation calls made while creating or updating an order.
+ *
+ * @param chunkSize      maximum items sent in a single {@code /products/batch} request
+ * @param maxConcurrency maximum chunk requests in flight for one cart
+ * @param timeout        maximum time to wait for all chunks of a cart
+ * @param binary         send the chunks in the binary format of {@code BatchValidationWireFormat} instead of JSON
+ */
+@ConfigurationProperties(prefix = "product-service.validation")
+public record ProductValidationProperties(int chunkSize,
+                                          int maxConcurrency,
+                                          Duration timeout,
+                                          boolean binary) {
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.orderservice.infrastructure.scheduler;
+
+import com.ecommerce.orderservice.infrastructure.adapter.persistence.repository.OrderArchiveAdapter;
+import com.ecommerce.orderservice.infrastructure.properties.OrderArchiveProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves old terminal orders to the archive tables in bounded batches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveScheduler {
+
+    private final OrderArchiveAdapter archiveAdapter;
+    private final OrderArchiveProperties properties;
+
+    @Scheduled(fixedDelayString = "${order.archive.interval:PT1H}", initialDelayString = "${order.archive.initial-delay:PT5M}")
+    public void archiveTerminalOrders() {
+        if (!properties.enabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int archived = archiveAdapter.archiveBatch(cutoff, properties.batchSize());
+            total += archived;
+            if (archived < properties.batchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} terminal orders updated before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.orderservice.interfaces.rest;
+
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayJobResponse;
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayRequest;
+import com.ecommerce.orderservice.infrastructure.adapter.kafka.DeadLetterReplayService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * REST controller for replaying dead letters stored by the order service.
+ * Access is restricted to the admin role at the API gateway.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class DeadLetterAdminController implements DeadLetterAdminOpenApi {
+
+    private final DeadLetterReplayService replayService;
+
+    @Override
+    public DeadLetterReplayJobResponse replay(@Valid @RequestBody DeadLetterReplayRequest request) {
+        log.info("Receiving dead letter replay request: {}", request);
+        return replayService.startReplay(request);
+    }
+
+    @Override
+    public DeadLetterReplayJobResponse getReplayJob(@PathVariable UUID jobId) {
+        return replayService.getJob(jobId);
+    }
+}
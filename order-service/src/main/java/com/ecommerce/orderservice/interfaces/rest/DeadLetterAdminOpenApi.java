@@ -0,0 +1,47 @@
+package com.ecommerce.orderservice.interfaces.rest;
+
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayJobResponse;
+import com.ecommerce.orderservice.application.dto.DeadLetterReplayRequest;
+import com.ecommerce.shared.interfaces.openapi.response.ApiResourceNotFound;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * OpenAPI interface for the dead-letter administration endpoints.
+ */
+@Tag(name = "Dead letters", description = "Replay of stored dead-letter records")
+@RequestMapping("/orders/admin/dead-letters")
+public interface DeadLetterAdminOpenApi {
+
+    @Operation(summary = "Replay Dead Letters",
+            description = "Starts a throttled replay of the stored dead letters matching the filter to their original topics",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "202", description = "Replay job started",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = DeadLetterReplayJobResponse.class)))
+    @ApiResponse(responseCode = "409", description = "Another replay job is still running")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(value = "/replay", produces = MediaType.APPLICATION_JSON_VALUE)
+    DeadLetterReplayJobResponse replay(@Parameter(description = "Replay filter and rate", required = true)
+                                       @RequestBody DeadLetterReplayRequest request);
+
+    @ApiResourceNotFound
+    @Operation(summary = "Replay Progress", description = "Retrieves the progress of a replay job",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "200", description = "Replay job retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = DeadLetterReplayJobResponse.class)))
+    @GetMapping(value = "/replay/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    DeadLetterReplayJobResponse getReplayJob(@Parameter(description = "ID of the replay job", required = true)
+                                             @PathVariable("jobId") UUID jobId);
+}
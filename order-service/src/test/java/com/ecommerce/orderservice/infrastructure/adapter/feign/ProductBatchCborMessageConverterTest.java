@@ -0,0 +1,68 @@
+package com.ecommerce.orderservice.infrastructure.adapter.feign;
+
+import com.ecommerce.orderservice.application.dto.BatchProductItemResponse;
+import com.ecommerce.orderservice.application.dto.BatchProductRequest;
+import com.ecommerce.orderservice.application.dto.BatchProductResponse;
+import com.ecommerce.orderservice.application.dto.OrderItemRequest;
+import com.ecommerce.shared.interfaces.binary.BatchValidationSamples;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the client side of {@link BatchValidationWireFormat} v1 against the {@link BatchValidationSamples} that
+ * product-service writes and reads.
+ */
+class ProductBatchCborMessageConverterTest {
+
+    private final ProductBatchCborMessageConverter converter = new ProductBatchCborMessageConverter();
+
+    @Test
+    void readsTheResponseProductServiceWrites() throws Exception {
+        Object response = converter.read(BatchProductResponse.class, input(BatchValidationSamples.RESPONSE));
+
+        assertThat(response).isEqualTo(new BatchProductResponse(List.of(
+                new BatchProductItemResponse(10L, "Phone", new BigDecimal("19.99"), true, 5, null),
+                new BatchProductItemResponse(11L, null, null, false, null, "Product not found"))));
+    }
+
+    @Test
+    void writesTheRequestProductServiceReads() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new BatchProductRequest(List.of(new OrderItemRequest(10L, 2), new OrderItemRequest(11L, 1))),
+                BatchValidationWireFormat.MEDIA_TYPE, output);
+
+        assertThat(output.getBodyAsBytes()).isEqualTo(BatchValidationSamples.REQUEST);
+    }
+
+    @Test
+    void rejectsTruncatedResponse() {
+        byte[] truncated = Arrays.copyOf(BatchValidationSamples.RESPONSE, BatchValidationSamples.RESPONSE.length - 8);
+
+        assertThatThrownBy(() -> converter.read(BatchProductResponse.class, input(truncated)))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void writesOnlyWhenTheBinaryFormatIsNegotiated() {
+        assertThat(converter.canWrite(BatchProductRequest.class, BatchValidationWireFormat.MEDIA_TYPE)).isTrue();
+        assertThat(converter.canWrite(BatchProductRequest.class, null)).isFalse();
+        assertThat(converter.canWrite(BatchProductRequest.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static MockHttpInputMessage input(byte[] body) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body);
+        input.getHeaders().setContentType(BatchValidationWireFormat.MEDIA_TYPE);
+        return input;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.productservice.application.service;
+
+import com.ecommerce.productservice.application.dto.ProductBatchItemRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchItemResponse;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationResponse;
+import com.ecommerce.productservice.benchmark.ProductFixtures;
+import com.ecommerce.productservice.domain.model.ProductAvailability;
+import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks batch validation ({@code POST /products/batch}) once the products have been read.
+ * <p>
+ * The repository is replaced by an in-memory stub so only local CPU and allocation cost is measured. Compare
+ * {@code gc.alloc.rate.norm} of {@link #verifyAndGetProducts} with {@link #verifyAndGetProductsWithStreams}, the
+ * boxed-map implementation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductApplicationServiceBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    private int cartSize;
+
+    private ProductRepositoryPort repository;
+    private ProductApplicationServiceImpl service;
+    private ProductBatchValidationRequest request;
+
+    @Setup
+    public void setUp() {
+        List<ProductAvailability> products = ProductFixtures.availability(cartSize);
+        repository = (ProductRepositoryPort) Proxy.newProxyInstance(ProductRepositoryPort.class.getClassLoader(),
+                new Class<?>[]{ProductRepositoryPort.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAvailabilityByIds")) {
+                        return products;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        service = new ProductApplicationServiceImpl(repository, null, null, null, null, null, null);
+        request = ProductFixtures.validationRequest(cartSize);
+    }
+
+    @Benchmark
+    public ProductBatchValidationResponse verifyAndGetProducts() {
+        return service.verifyAndGetProducts(request);
+    }
+
+    @Benchmark
+    public ProductBatchValidationResponse verifyAndGetProductsWithStreams() {
+        List<Long> productIds = request.items().stream().map(ProductBatchItemRequest::productId).toList();
+        Map<Long, ProductAvailability> productMap = repository.findAvailabilityByIds(productIds)
+                .stream()
+                .collect(Collectors.toMap(ProductAvailability::id, p -> p));
+        List<ProductBatchItemResponse> responses = request.items().stream().map(item -> {
+            ProductAvailability product = productMap.get(item.productId());
+            if (product == null) {
+                return new ProductBatchItemResponse(item.productId(), null, null, false, 0, "Product not found");
+            }
+            boolean isAvailable = product.inventory() >= item.quantity();
+            String error = isAvailable ? null : "Insufficient stock. Available: " + product.inventory();
+            return new ProductBatchItemResponse(item.productId(), product.name(), product.price(), isAvailable,
+                    product.inventory(), error);
+        }).toList();
+        return new ProductBatchValidationResponse(responses);
+    }
+}
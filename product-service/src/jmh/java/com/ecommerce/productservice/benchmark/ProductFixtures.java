@@ -0,0 +1,48 @@
+package com.ecommerce.productservice.benchmark;
+
+import com.ecommerce.productservice.application.dto.ProductBatchItemRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationRequest;
+import com.ecommerce.productservice.domain.model.ProductAvailability;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic batch validation data: a cart of product IDs and the stock the repository returns for it, so the
+ * benchmarks can compare implementations on identical inputs. The mix of available, short and unknown products is
+ * the same for every cart size.
+ */
+public final class ProductFixtures {
+
+    private ProductFixtures() {
+    }
+
+    /**
+     * Cart of products {@code 1..cartSize}, one to five units each.
+     */
+    public static ProductBatchValidationRequest validationRequest(int cartSize) {
+        List<ProductBatchItemRequest> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new ProductBatchItemRequest((long) i + 1, (i % 5) + 1));
+        }
+        return new ProductBatchValidationRequest(items);
+    }
+
+    /**
+     * Stock of the products of {@link #validationRequest}: every tenth product is unknown and every seventh one
+     * is short of stock, so all three outcomes of the validation are exercised.
+     */
+    public static List<ProductAvailability> availability(int cartSize) {
+        List<ProductAvailability> products = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            if (i % 10 == 9) {
+                continue;
+            }
+            int inventory = i % 7 == 0 ? 0 : 100 + i;
+            products.add(new ProductAvailability((long) i + 1, "Product " + (i + 1),
+                    BigDecimal.valueOf(1000 + (i % 100) * 25L, 2), inventory));
+        }
+        return products;
+    }
+}
@@ -1,19 +1,29 @@
 package com.ecommerce.productservice;
 
+import com.ecommerce.productservice.infrastructure.properties.InventoryReservationProperties;
+import com.ecommerce.productservice.infrastructure.properties.InventoryShardingProperties;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import com.ecommerce.productservice.infrastructure.properties.ProductImportProperties;
+import com.ecommerce.productservice.infrastructure.properties.ProductSnapshotProperties;
 import com.ecommerce.productservice.infrastructure.properties.SecurityProperties;
 import com.ecommerce.shared.infrastructure.configuration.JacksonConfig;
 import com.ecommerce.shared.infrastructure.configuration.OpenApiConfigBase;
 import com.ecommerce.shared.infrastructure.configuration.SharedLibraryConfig;
+import com.ecommerce.shared.infrastructure.datasource.ReplicaRoutingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableDiscoveryClient
 @SpringBootApplication
-@EnableConfigurationProperties(SecurityProperties.class)
-@Import({SharedLibraryConfig.class, OpenApiConfigBase.class, JacksonConfig.class})
+@EnableScheduling
+@EnableConfigurationProperties({SecurityProperties.class, InventoryShardingProperties.class,
+        InventoryReservationProperties.class, ProductCacheProperties.class, ProductImportProperties.class,
+        ProductSnapshotProperties.class})
+@Import({SharedLibraryConfig.class, OpenApiConfigBase.class, JacksonConfig.class, ReplicaRoutingConfig.class})
 public class ProductServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,14 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Request object for splitting the inventory of a product across sub-counters")
+public record InventoryShardingRequest(
+        @NotNull(message = "Shard count is required")
+        @Min(value = 2, message = "Shard count must be at least 2")
+        @Schema(description = "Number of inventory sub-counters", example = "16")
+        Integer shards
+) {
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.productservice.application.dto;
+
+import com.ecommerce.productservice.domain.exception.InvalidProductDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated product listing: the ID of the last product returned.
+ * Clients receive it as an opaque URL-safe token and send it back unchanged to get the next page.
+ */
+public record ProductCursor(long lastId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the cursor of the token, or a cursor before the first product if {@code token} is blank
+     * @throws InvalidProductDataException if the token was not produced by {@link #encode()}
+     */
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new ProductCursor(0);
+        }
+        try {
+            return new ProductCursor(Long.parseLong(new String(DECODER.decode(token), StandardCharsets.US_ASCII)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProductDataException("Invalid cursor", "cursor is malformed");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated response for lists of products")
+public record ProductCursorPageResponse(
+        @Schema(description = "List of products in the current page")
+        List<ProductResponse> content,
+        @Schema(description = "Maximum number of items per page", example = "20")
+        int size,
+        @Schema(description = "Token to pass as cursor to get the next page, null on the last page",
+                example = "MTIz")
+        String nextCursor,
+        @Schema(description = "Estimated total number of matching products from database statistics, " +
+                "null unless requested with estimateTotal=true or when no estimate is available", example = "15000")
+        Long estimatedTotal
+) {
+}
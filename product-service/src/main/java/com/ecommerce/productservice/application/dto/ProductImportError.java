@@ -0,0 +1,12 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Row rejected by a bulk product import")
+public record ProductImportError(
+        @Schema(description = "Row number in the file (1-based, header excluded)", example = "42")
+        long row,
+        @Schema(description = "Reason the row was rejected", example = "price: price must be zero or positive")
+        String message
+) {
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.productservice.application.dto;
+
+/**
+ * Formats accepted by the bulk product import.
+ * <ul>
+ *     <li>{@code NDJSON}: one {@link ProductRequest} JSON object per line.</li>
+ *     <li>{@code CSV}: header row with the {@link ProductRequest} field names; {@code categories} separated by
+ *     {@code |}, {@code additionalData} as a JSON object.</li>
+ * </ul>
+ */
+public enum ProductImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk product import")
+public record ProductImportResponse(
+        @Schema(description = "Number of rows read", example = "200000")
+        long rows,
+        @Schema(description = "Number of products created or updated", example = "199990")
+        long imported,
+        @Schema(description = "Number of rows rejected", example = "10")
+        long failed,
+        @Schema(description = "Rejected rows, at most product-import.max-reported-errors")
+        List<ProductImportError> errors,
+        @Schema(description = "Whether more rows were rejected than listed in errors", example = "false")
+        boolean errorsTruncated
+) {
+}
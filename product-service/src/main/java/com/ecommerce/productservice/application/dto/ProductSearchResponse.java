@@ -0,0 +1,18 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Full-text search results, best matches first")
+public record ProductSearchResponse(
+        @Schema(description = "List of products in the current page")
+        List<ProductResponse> content,
+        @Schema(description = "Current page number", example = "0")
+        int pageNumber,
+        @Schema(description = "Number of items per page", example = "20")
+        int pageSize,
+        @Schema(description = "Whether a next page exists", example = "true")
+        boolean hasNext
+) {
+}
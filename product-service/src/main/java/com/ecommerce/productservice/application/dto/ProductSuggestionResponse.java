@@ -0,0 +1,12 @@
+package com.ecommerce.productservice.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Autocomplete suggestion")
+public record ProductSuggestionResponse(
+        @Schema(description = "Product ID", example = "1")
+        Long id,
+        @Schema(description = "Product name", example = "Smartphone")
+        String name
+) {
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.productservice.application.service;
+
+/**
+ * Open-addressing hash map keyed by a primitive {@code long}, for per-request lookups on hot paths where a
+ * {@code HashMap<Long, V>} would box every key and allocate a node per mapping.
+ * <p>
+ * Linear probing over a power-of-two table sized for {@code expectedSize} entries at a load factor of at most 0.5.
+ * The table never grows: {@code expectedSize} is an upper bound and exceeding it fails fast. No removal.
+ *
+ * @param <V> value type, {@code null} values are not allowed (an empty slot is a {@code null} value)
+ */
+final class LongObjectMap<V> {
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+
+    LongObjectMap(int expectedSize) {
+        int capacity = Math.max(4, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.maxSize = Math.max(1, expectedSize);
+    }
+
+    void put(long key, V value) {
+        int index = index(key);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == maxSize) {
+            throw new IllegalStateException("LongObjectMap is sized for " + maxSize + " entries");
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int index = index(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential IDs over the table
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
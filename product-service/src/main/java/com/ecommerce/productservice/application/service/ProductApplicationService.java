@@ -1,8 +1,11 @@
 package com.ecommerce.productservice.application.service;
 
+import com.ecommerce.productservice.domain.exception.InvalidInventoryException;
 import com.ecommerce.productservice.domain.port.in.ProductUseCase;
 import com.ecommerce.shared.domain.event.OrderEventPayload;
 
+import java.util.List;
+
 /**
  * Application service interface for product management, extending core use cases with event-driven logic.
  */
@@ -10,5 +13,26 @@ public interface ProductApplicationService extends ProductUseCase {
 
     void validateAndReserveStock(OrderEventPayload payload);
 
+    /**
+     * Reports the validation of an order as failed without touching stock, for an order event that could not be
+     * processed and was given up on after its retries.
+     */
+    void rejectValidation(OrderEventPayload payload);
+
+    /**
+     * Makes the stock held for a paid order a definitive decrement.
+     */
+    void commitReservedStock(OrderEventPayload payload);
+
     void restock(OrderEventPayload payload);
+
+    /**
+     * Restocks the cancelled orders and reserves stock for the new orders of one batch in a single transaction,
+     * with one stock update per product. {@code VALIDATION_SUCCEEDED} is published for every reserved order once
+     * the transaction commits.
+     *
+     * @throws InvalidInventoryException if the batch cannot be reserved as a whole; nothing is applied and the
+     *                                   orders must be processed one by one
+     */
+    void reserveAndRestockAll(List<OrderEventPayload> reservations, List<OrderEventPayload> restocks);
 }
@@ -4,21 +4,40 @@ import com.ecommerce.productservice.application.dto.*;
 import com.ecommerce.productservice.domain.exception.DuplicateProductNameException;
 import com.ecommerce.productservice.domain.exception.InvalidProductDataException;
 import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.model.ProductAvailability;
 import com.ecommerce.productservice.domain.port.out.OrderEventPublisherPort;
 import com.ecommerce.productservice.domain.port.out.ProductEventPublisherPort;
 import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.productservice.domain.port.out.ProductSnapshotPort;
+import com.ecommerce.productservice.domain.port.out.ProductSuggestPort;
 import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductMapper;
+import com.ecommerce.productservice.infrastructure.properties.InventoryReservationProperties;
+import com.ecommerce.productservice.infrastructure.properties.InventoryShardingProperties;
 import com.ecommerce.shared.domain.event.OrderEventPayload;
-import com.ecommerce.shared.domain.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +56,21 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
     private final ProductRepositoryPort productRepositoryPort;
     private final OrderEventPublisherPort eventPublisherPort;
     private final ProductMapper mapper;
+    private final InventoryShardingProperties shardingProperties;
+    private final InventoryReservationProperties reservationProperties;
+    private final ProductSuggestPort suggestPort;
+    private final ProductSnapshotPort snapshotPort;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_FILTER_ATTRIBUTES = 10;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final Pattern ATTRIBUTE_NAME = Pattern.compile("\\w{1,64}");
+    private static final String PRODUCT_NOT_FOUND = "Product not found";
+    private static final String INSUFFICIENT_STOCK = "Insufficient stock. Available: ";
+    /**
+     * Rejection messages for the low stock levels most rejections report, built on first use.
+     */
+    private static final String[] INSUFFICIENT_STOCK_MESSAGES = new String[128];
 
     @Override
     @Transactional
@@ -46,7 +80,6 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
         }
         Product product = mapper.toProduct(request, null);
         Product savedProduct = productRepositoryPort.save(product);
-        //eventPublisherPort.publish(savedProduct, ProductEventType.PRODUCT_INVENTORY_UPDATED);
         return mapper.toResponse(savedProduct);
     }
 
@@ -57,11 +90,48 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
         return productsPage.map(mapper::toResponse);
     }
 
+    /**
+     * Served from the catalog snapshot when it knows the product, without opening a transaction. Otherwise the
+     * repository reads it through the cache in its own transaction, which is deliberately not read-only: a
+     * read-only transaction would be routed to a replica and could cache a row older than the last write.
+     */
     @Override
-    @Transactional(readOnly = true)
     public ProductResponse findById(Long id) {
-        Product product = productRepositoryPort.findById(id);
-        return mapper.toResponse(product);
+        return snapshotPort.findById(id)
+                .orElseGet(() -> mapper.toResponse(productRepositoryPort.findById(id)));
+    }
+
+    /**
+     * Read from the source {@link #findById} serves the body from, so the ETag always describes that body.
+     */
+    @Override
+    public String findRevision(Long id) {
+        return snapshotPort.findRevision(id).orElseGet(() -> {
+            Product product = productRepositoryPort.findById(id);
+            return product.id() + "-" + product.version() + "-" + product.inventory();
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String findPageRevision(int page, int size) {
+        List<String> revisions = productRepositoryPort.findRevisions(0, (long) page * size, size);
+        return pageRevision(revisions, productRepositoryPort.count());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String findCursorPageRevision(String cursor, int size, boolean estimateTotal) {
+        validatePageSize(size);
+        // The extra row decides the next cursor, as in findPageByCursor
+        List<String> revisions = productRepositoryPort.findRevisions(ProductCursor.decode(cursor).lastId(), 0, size + 1);
+        OptionalLong estimate = estimateTotal ? productRepositoryPort.estimateCountByAttributes(Map.of()) : OptionalLong.empty();
+        return pageRevision(revisions, estimate.isPresent() ? estimate.getAsLong() : null);
+    }
+
+    private static String pageRevision(List<String> revisions, Object total) {
+        String page = String.join("|", revisions) + "|" + total;
+        return DigestUtils.md5DigestAsHex(page.getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
@@ -77,7 +147,6 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
         Product existing = productRepositoryPort.findById(id);
         Product updatedProduct = existing.updateFrom(request);
         Product savedProduct = productRepositoryPort.update(id, updatedProduct);
-        //eventPublisherPort.publish(savedProduct, ProductEventType.PRODUCT_INVENTORY_UPDATED);
         return mapper.toResponse(savedProduct);
     }
 
@@ -85,58 +154,110 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
     @Transactional
     public void delete(Long id) {
         productRepositoryPort.delete(id);
-        //eventPublisherPort.publish();
     }
 
     /**
      * Verifies the availability of a batch of products by checking their
      * inventory levels. It fetches all required products in a single query
      * to optimize performance, then processes each item.
+     * <p>
+     * This is the most called endpoint, so it avoids per-item allocations besides the responses themselves: IDs
+     * are passed as a view over the request, products are indexed by primitive ID and the results are written to
+     * a preallocated array. Error messages for low stock levels are built once and reused.
+     * <p>
+     * Not read-only on purpose: the stock it reports decides whether an order is placed, so it is read from the
+     * primary even when read-only transactions are routed to replicas.
      *
      * @param request The batch request containing product IDs and quantities.
      * @return A response containing a list of products with their availability status.
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public ProductBatchValidationResponse verifyAndGetProducts(ProductBatchValidationRequest request) {
-        // Fetch products in one query
-        List<Long> productIds = request.items().stream().map(ProductBatchItemRequest::productId).toList();
-        Map<Long, Product> productMap = productRepositoryPort.findAllByIds(productIds)
-                .stream()
-                .collect(Collectors.toMap(Product::id, p -> p));
+        List<ProductBatchItemRequest> items = request.items();
+        // Fetch the needed columns of all products in one query
+        List<ProductAvailability> products = productRepositoryPort.findAvailabilityByIds(new ProductIdView(items));
+        LongObjectMap<ProductAvailability> productMap = new LongObjectMap<>(products.size());
+        for (ProductAvailability product : products) {
+            productMap.put(product.id(), product);
+        }
         // Process each item
-        List<ProductBatchItemResponse> responses = request.items().stream().map(item -> {
-            Product product = productMap.get(item.productId());
+        ProductBatchItemResponse[] responses = new ProductBatchItemResponse[items.size()];
+        int index = 0;
+        for (ProductBatchItemRequest item : items) {
+            ProductAvailability product = productMap.get(item.productId());
             if (product == null) {
-                return new ProductBatchItemResponse(item.productId(), null, null, false, 0, "Product not found");
+                responses[index++] = new ProductBatchItemResponse(item.productId(), null, null, false, 0,
+                        PRODUCT_NOT_FOUND);
+                continue;
             }
-            boolean isAvailable = product.inventory() >= item.quantity();
-            String error = isAvailable ? null : "Insufficient stock. Available: " + product.inventory();
-            return new ProductBatchItemResponse(
+            int available = product.inventory();
+            boolean isAvailable = available >= item.quantity();
+            responses[index++] = new ProductBatchItemResponse(
                     item.productId(),
                     product.name(),
                     product.price(),
                     isAvailable,
-                    product.inventory(),
-                    error
+                    available,
+                    isAvailable ? null : insufficientStock(available)
             );
-        }).toList();
-        return new ProductBatchValidationResponse(responses);
+        }
+        return new ProductBatchValidationResponse(Arrays.asList(responses));
+    }
+
+    private static String insufficientStock(int available) {
+        if (available < 0 || available >= INSUFFICIENT_STOCK_MESSAGES.length) {
+            return INSUFFICIENT_STOCK + available;
+        }
+        String message = INSUFFICIENT_STOCK_MESSAGES[available];
+        if (message == null) {
+            // Racing threads build equal strings, and Strings are safely published without synchronization
+            message = INSUFFICIENT_STOCK + available;
+            INSUFFICIENT_STOCK_MESSAGES[available] = message;
+        }
+        return message;
+    }
+
+    /**
+     * Product IDs of a batch request, read in place instead of copied into a new list.
+     */
+    private static final class ProductIdView extends AbstractList<Long> implements RandomAccess {
+
+        private final List<ProductBatchItemRequest> items;
+
+        private ProductIdView(List<ProductBatchItemRequest> items) {
+            this.items = items;
+        }
+
+        @Override
+        public Long get(int index) {
+            return items.get(index).productId();
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ProductBatchDetailsResponse> findProductDetails(ProductBatchDetailsRequest request) {
-        Map<Long, Product> productMap = productRepositoryPort.findAllByIds(request.productIds())
-                .stream()
-                .collect(Collectors.toMap(Product::id, p -> p));
+        Map<Long, ProductResponse> productMap = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : request.productIds()) {
+            snapshotPort.findById(id).ifPresentOrElse(product -> productMap.put(id, product), () -> misses.add(id));
+        }
+        if (!misses.isEmpty()) {
+            productRepositoryPort.findDetailsByIds(misses)
+                    .forEach(product -> productMap.put(Long.valueOf(product.id()), product));
+        }
         return request.productIds().stream()
                 .map(id -> {
-                    Product product = productMap.get(id);
+                    ProductResponse product = productMap.get(id);
                     if (product == null) {
                         return new ProductBatchDetailsResponse(null, String.format("Product not found with ID: %s", id));
                     }
-                    return new ProductBatchDetailsResponse(mapper.toResponse(product), null);
+                    return new ProductBatchDetailsResponse(product, null);
                 })
                 .toList();
     }
@@ -148,88 +269,213 @@ public class ProductApplicationServiceImpl implements ProductApplicationService
         return productsPage.map(mapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse findAllByCursor(String cursor, int size, boolean estimateTotal) {
+        return findPageByAttributes(Map.of(), cursor, size, estimateTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse findByColorByCursor(String color, String cursor, int size, boolean estimateTotal) {
+        return findPageByAttributes(Map.of("color", color), cursor, size, estimateTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse findByAttributes(Map<String, String> attributes, String cursor, int size,
+                                                      boolean estimateTotal) {
+        if (attributes.isEmpty() || attributes.size() > MAX_FILTER_ATTRIBUTES) {
+            throw new InvalidProductDataException("Invalid attribute filter",
+                    "between 1 and " + MAX_FILTER_ATTRIBUTES + " attributes are required");
+        }
+        if (attributes.keySet().stream().anyMatch(name -> !ATTRIBUTE_NAME.matcher(name).matches())) {
+            throw new InvalidProductDataException("Invalid attribute filter",
+                    "attribute names may only contain letters, digits and underscores");
+        }
+        return findPageByAttributes(attributes, cursor, size, estimateTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPageResponse findByCategory(String category, String cursor, int size) {
+        return findPageByCursor(cursor, size,
+                (afterId, limit) -> productRepositoryPort.findByCategory(category, afterId, limit),
+                OptionalLong::empty);
+    }
+
+    private ProductCursorPageResponse findPageByAttributes(Map<String, String> attributes, String cursor, int size,
+                                                           boolean estimateTotal) {
+        return findPageByCursor(cursor, size,
+                (afterId, limit) -> productRepositoryPort.findByAttributes(attributes, afterId, limit),
+                estimateTotal ? () -> productRepositoryPort.estimateCountByAttributes(attributes) : OptionalLong::empty);
+    }
+
+    /**
+     * Loads one keyset page with {@code loader} (last ID of the previous page, maximum number of products).
+     */
+    private ProductCursorPageResponse findPageByCursor(String cursor, int size,
+                                                       BiFunction<Long, Integer, List<Product>> loader,
+                                                       Supplier<OptionalLong> totalEstimate) {
+        validatePageSize(size);
+        // One extra row tells whether there is a next page without a COUNT
+        List<Product> products = loader.apply(ProductCursor.decode(cursor).lastId(), size + 1);
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+        String nextCursor = hasNext ? new ProductCursor(page.getLast().id()).encode() : null;
+        OptionalLong estimate = totalEstimate.get();
+        return new ProductCursorPageResponse(page.stream().map(mapper::toResponse).toList(), size, nextCursor,
+                estimate.isPresent() ? estimate.getAsLong() : null);
+    }
+
+    private static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidProductDataException("Invalid page size",
+                    "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSearchResponse search(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidProductDataException("Invalid page",
+                    "page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Product> products = productRepositoryPort.search(query, (long) page * size, size + 1);
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+        return new ProductSearchResponse(content.stream().map(mapper::toResponse).toList(), page, size, hasNext);
+    }
+
+    @Override
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        return suggestPort.suggest(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                .map(suggestion -> new ProductSuggestionResponse(suggestion.id(), suggestion.name()))
+                .toList();
+    }
+
     @Override
     @Transactional
-    public void validateAndReserveStock(OrderEventPayload payload) {
-        try {
-            // Extract product IDs and quantities
-            Set<Long> productIds = payload.items().stream()
-                    .map(OrderEventPayload.OrderItemPayload::productId)
-                    .collect(Collectors.toSet());
-            Map<Long, Integer> quantities = payload.items().stream()
-                    .collect(Collectors.toMap(
-                            OrderEventPayload.OrderItemPayload::productId,
-                            OrderEventPayload.OrderItemPayload::quantity
-                    ));
-
-            // Batch fetch products
-            List<Product> products = productRepositoryPort.findAllByIds(productIds.stream().toList());
-            if (products.size() != productIds.size()) {
-                throw new ResourceNotFoundException("One or more products not found: ", products.toString());
-            }
+    public ProductResponse shardInventory(Long id, int shards) {
+        if (shards > shardingProperties.maxShards()) {
+            throw new InvalidProductDataException("Shard count exceeds the maximum",
+                    "shard count must not exceed " + shardingProperties.maxShards());
+        }
+        productRepositoryPort.shardInventory(id, shards);
+        return mapper.toResponse(productRepositoryPort.findById(id));
+    }
 
-            // Validate stock
-            Map<Long, Integer> productIdToStock = products.stream()
-                    .collect(Collectors.toMap(
-                            Product::id,
-                            product -> {
-                                int requestedQuantity = quantities.getOrDefault(product.id(), 0);
-                                if (product.inventory() < requestedQuantity) {
-                                    throw new InvalidProductDataException(
-                                            "Insufficient inventory for product ID %d: requested %d, available %d",
-                                            product.id(), requestedQuantity, product.inventory()
-                                    );
-                                }
-                                return product.inventory() - requestedQuantity;
-                            }
-                    ));
-
-            // Batch update stock
-            productRepositoryPort.updateStockInBatch(productIdToStock);
-
-            // Publish inventory updated events
-            //updatedProducts.forEach(product -> eventPublisher.publishProductInventoryUpdatedEvent(product.toShared()));
-            eventPublisherPort.publishValidationSucceeded(payload);
-            log.info("Reserved stock for order ID: {}", payload.id());
-        } catch (Exception e) {
-            log.error("Failed to reserve stock for order ID: {}", payload.id(), e);
+    @Override
+    @Transactional
+    public ProductResponse unshardInventory(Long id) {
+        productRepositoryPort.unshardInventory(id);
+        return mapper.toResponse(productRepositoryPort.findById(id));
+    }
+
+    /**
+     * Holds stock for every order line in a single conditional batch update; the database rejects lines that
+     * exceed the available stock. If any line is rejected, the lines already held are undone with compensating
+     * updates and every line is recorded as {@code REJECTED} in the ledger, in the same committed transaction, so a
+     * later CANCEL returns nothing. The hold is returned automatically if the order is neither paid nor cancelled
+     * before the reservation TTL.
+     * <p>
+     * Redelivered events are no-ops recognised by the order's reservation lines. A rejection is a final outcome
+     * recorded with the order, so it is reported once and not retried. Any other failure is thrown without a result
+     * for the saga: the event is retried, and only reported as failed once its retries are exhausted
+     * ({@link #rejectValidation}).
+     */
+    @Override
+    @Transactional
+    public void validateAndReserveStock(OrderEventPayload payload) {
+        List<Long> rejected = productRepositoryPort.reserveStock(payload.id(), quantitiesByProduct(payload),
+                LocalDateTime.now().plus(reservationProperties.ttl()));
+        if (!rejected.isEmpty()) {
+            log.warn("Rejected stock reservation for order ID: {}: insufficient inventory or unknown products {}",
+                    payload.id(), rejected);
             eventPublisherPort.publishValidationFailed(payload);
-            throw e;
+            return;
         }
+        eventPublisherPort.publishValidationSucceeded(payload);
+        log.info("Reserved stock for order ID: {}", payload.id());
+    }
+
+    @Override
+    public void rejectValidation(OrderEventPayload payload) {
+        log.error("Giving up on stock reservation for order ID: {}", payload.id());
+        eventPublisherPort.publishValidationFailed(payload);
+    }
+
+    @Override
+    @Transactional
+    public void commitReservedStock(OrderEventPayload payload) {
+        productRepositoryPort.commitReservation(payload.id());
     }
 
     @Override
     @Transactional
     public void restock(OrderEventPayload payload) {
-        // Extract product IDs and quantities
-        Set<Long> productIds = payload.items().stream()
-                .map(OrderEventPayload.OrderItemPayload::productId)
-                .collect(Collectors.toSet());
-        Map<Long, Integer> quantities = payload.items().stream()
-                .collect(Collectors.toMap(
-                        OrderEventPayload.OrderItemPayload::productId,
-                        OrderEventPayload.OrderItemPayload::quantity
-                ));
+        if (!productRepositoryPort.releaseReservation(payload.id())) {
+            // Reserved before the ledger existed, restock from the order lines
+            Map<Long, Integer> quantities = quantitiesByProduct(payload);
+            List<Long> missing = productRepositoryPort.releaseStock(quantities);
+            if (!missing.isEmpty()) {
+                log.warn("Products {} not found while restocking order ID: {}", missing, payload.id());
+            }
+            productRepositoryPort.recordReleased(Map.of(payload.id(), quantities));
+        }
+        log.info("Restocked products for order ID: {}", payload.id());
+    }
 
-        // Batch fetch products
-        List<Product> products = productRepositoryPort.findAllByIds(productIds.stream().toList());
-        if (products.size() != productIds.size()) {
-            log.warn("One or more products not found for order ID: {}", payload.id());
+    /**
+     * Restocks run first so their stock is available to the reservations of the same batch. Orders without
+     * reservations recorded are restocked from their lines, summed per product.
+     */
+    @Override
+    @Transactional
+    public void reserveAndRestockAll(List<OrderEventPayload> reservations, List<OrderEventPayload> restocks) {
+        if (!restocks.isEmpty()) {
+            Set<UUID> released = productRepositoryPort.releaseReservations(
+                    restocks.stream().map(OrderEventPayload::id).toList());
+            Map<UUID, Map<Long, Integer>> unrecorded = restocks.stream()
+                    .filter(payload -> !released.contains(payload.id()))
+                    .collect(Collectors.toMap(OrderEventPayload::id, ProductApplicationServiceImpl::quantitiesByProduct));
+            if (!unrecorded.isEmpty()) {
+                Map<Long, Integer> quantities = unrecorded.values().stream()
+                        .flatMap(lines -> lines.entrySet().stream())
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum));
+                List<Long> missing = productRepositoryPort.releaseStock(quantities);
+                if (!missing.isEmpty()) {
+                    log.warn("Products {} not found while restocking {} orders", missing, restocks.size());
+                }
+                productRepositoryPort.recordReleased(unrecorded);
+            }
+            log.info("Restocked products for {} orders", restocks.size());
         }
+        if (!reservations.isEmpty()) {
+            Map<UUID, Map<Long, Integer>> quantitiesByOrder = reservations.stream()
+                    .collect(Collectors.toMap(OrderEventPayload::id, ProductApplicationServiceImpl::quantitiesByProduct));
+            productRepositoryPort.reserveStockForOrders(quantitiesByOrder,
+                    LocalDateTime.now().plus(reservationProperties.ttl()));
+            log.info("Reserved stock for {} orders", reservations.size());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reservations.forEach(eventPublisherPort::publishValidationSucceeded);
+                }
+            });
+        }
+    }
 
-        // Prepare stock updates
-        Map<Long, Integer> productIdToStock = products.stream()
+    /**
+     * Requested quantity per product, summing lines that repeat a product.
+     */
+    private static Map<Long, Integer> quantitiesByProduct(OrderEventPayload payload) {
+        return payload.items().stream()
                 .collect(Collectors.toMap(
-                        Product::id,
-                        product -> product.inventory() + quantities.getOrDefault(product.id(), 0)
+                        OrderEventPayload.OrderItemPayload::productId,
+                        OrderEventPayload.OrderItemPayload::quantity,
+                        Integer::sum
                 ));
-
-        // Batch update stock
-        productRepositoryPort.updateStockInBatch(productIdToStock);
-
-        // Publish inventory updated events
-        //updatedProducts.forEach(product -> eventPublisherPort.publishProductInventoryUpdatedEvent(product.toShared()));
-        log.info("Restocked products for order ID: {}", payload.id());
     }
 }
-
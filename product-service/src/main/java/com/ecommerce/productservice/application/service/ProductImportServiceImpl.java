@@ -0,0 +1,281 @@
+package com.ecommerce.productservice.application.service;
+
+import com.ecommerce.productservice.application.dto.ProductImportError;
+import com.ecommerce.productservice.application.dto.ProductImportFormat;
+import com.ecommerce.productservice.application.dto.ProductImportResponse;
+import com.ecommerce.productservice.application.dto.ProductRequest;
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.port.in.ProductImportUseCase;
+import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductMapper;
+import com.ecommerce.productservice.infrastructure.properties.ProductImportProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link ProductImportUseCase}.
+ * <p>
+ * Rows are read one at a time, validated like {@code POST /products} requests, and collected into chunks of
+ * {@code product-import.chunk-size} products that are upserted in a single transaction each (see
+ * {@link ProductRepositoryPort#upsertAllByName}). If the database rejects a chunk, its rows are retried one by one
+ * so the error is reported against the offending row only. Only the current chunk and up to
+ * {@code product-import.max-reported-errors} errors are held in memory.
+ * <p>
+ * When the same name appears several times, the last row wins: within a chunk the earlier rows are reported as
+ * superseded, across chunks the later row simply updates the product again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportUseCase {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ProductRepositoryPort productRepositoryPort;
+    private final ProductMapper mapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProductImportProperties properties;
+
+    @Override
+    public ProductImportResponse importProducts(InputStream input, ProductImportFormat format) {
+        ImportReport report = new ImportReport(properties.maxReportedErrors());
+        Map<String, Row> chunk = new LinkedHashMap<>();
+        try (RowReader reader = format == ProductImportFormat.NDJSON
+                ? new NdjsonRowReader(input, objectMapper)
+                : new CsvRowReader(input, objectMapper)) {
+            Row row;
+            while ((row = reader.next()) != null) {
+                report.rows++;
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    report.reject(row.number(), error);
+                    continue;
+                }
+                Row previous = chunk.put(row.request().name(), row);
+                if (previous != null) {
+                    report.reject(previous.number(), "Duplicate name, row " + row.number() + " is imported instead");
+                }
+                if (chunk.size() >= properties.chunkSize()) {
+                    write(chunk.values(), report);
+                    chunk.clear();
+                }
+            }
+            write(chunk.values(), report);
+        } catch (IOException e) {
+            log.warn("Product import aborted after {} rows: {}", report.rows, e.getMessage());
+            report.reject(report.rows + 1, "Input could not be read, import stopped: " + e.getMessage());
+        }
+        log.info("Imported {} products from {} {} rows, {} rejected", report.imported, report.rows, format,
+                report.failed);
+        return report.toResponse();
+    }
+
+    private void write(Collection<Row> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            report.imported += productRepositoryPort.upsertAllByName(rows.stream().map(this::toProduct).toList()).size();
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of {} rows rejected, retrying row by row: {}", rows.size(), e.getMessage());
+            for (Row row : rows) {
+                try {
+                    report.imported += productRepositoryPort.upsertAllByName(List.of(toProduct(row))).size();
+                } catch (DataAccessException rowError) {
+                    report.reject(row.number(), "Rejected by the database: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private Product toProduct(Row row) {
+        return mapper.toProduct(row.request(), null);
+    }
+
+    private String validate(ProductRequest request) {
+        List<String> errors = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        checkLength("name", request.name(), errors);
+        checkLength("description", request.description(), errors);
+        checkLength("image", request.image(), errors);
+        return errors.isEmpty() ? null : String.join("; ", errors);
+    }
+
+    private static void checkLength(String field, String value, List<String> errors) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            errors.add(field + ": must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * A parsed input row: either a request or the reason it could not be parsed.
+     */
+    private record Row(long number, ProductRequest request, String error) {
+    }
+
+    private interface RowReader extends Closeable {
+
+        /**
+         * @return the next row, or {@code null} at the end of the input
+         */
+        Row next() throws IOException;
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped but counted for row numbers.
+     */
+    private static final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long lineNumber;
+
+        NdjsonRowReader(InputStream input, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            try {
+                return new Row(lineNumber, objectMapper.readValue(line, ProductRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * CSV with a header row. Field conversion errors reject the row; a syntax error (e.g. an unterminated quote)
+     * makes the rest of the input unreadable, so it is reported and ends the import.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+        };
+
+        private final MappingIterator<Map<String, String>> rows;
+        private final ObjectMapper objectMapper;
+        private long rowNumber;
+        private boolean ended;
+
+        CsvRowReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            this.rows = new CsvMapper().readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() {
+            if (ended) {
+                return null;
+            }
+            Map<String, String> values;
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                values = rows.nextValue();
+            } catch (IOException | RuntimeException e) {
+                ended = true;
+                return new Row(++rowNumber, null, "Invalid CSV, import stopped: " + e.getMessage());
+            }
+            rowNumber++;
+            try {
+                return new Row(rowNumber, toRequest(values), null);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                return new Row(rowNumber, null, e.getMessage());
+            }
+        }
+
+        private ProductRequest toRequest(Map<String, String> values) throws JsonProcessingException {
+            String price = text(values, "price");
+            String inventory = text(values, "inventory");
+            String categories = text(values, "categories");
+            String additionalData = text(values, "additionalData");
+            try {
+                return new ProductRequest(
+                        text(values, "name"),
+                        text(values, "description"),
+                        price != null ? new BigDecimal(price) : null,
+                        inventory != null ? Integer.valueOf(inventory) : null,
+                        text(values, "image"),
+                        categories != null ? Arrays.stream(categories.split("\\|"))
+                                .map(String::trim)
+                                .filter(category -> !category.isEmpty())
+                                .collect(Collectors.toCollection(LinkedHashSet::new)) : Set.of(),
+                        additionalData != null ? objectMapper.readValue(additionalData, JSON_OBJECT) : null);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("price and inventory must be numbers");
+            }
+        }
+
+        private static String text(Map<String, String> values, String column) {
+            String value = values.get(column);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    private static final class ImportReport {
+
+        private final int maxErrors;
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportError(row, message));
+            }
+        }
+
+        ProductImportResponse toResponse() {
+            return new ProductImportResponse(rows, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
@@ -9,7 +9,11 @@ import lombok.Getter;
 @Getter
 public enum ProductEventType {
 
-    PRODUCT_INVENTORY_UPDATED("product_inventory_updated", "ProductInventoryUpdatedEvent", "product.inventory.updated");
+    PRODUCT_INVENTORY_UPDATED("product_inventory_updated", "ProductInventoryUpdatedEvent", "product.inventory.updated"),
+    /**
+     * Compacted change feed: latest price and inventory per product, keyed by product ID.
+     */
+    PRODUCT_CHANGED("product_changes", "ProductChangedEvent", "product.changed");
 
     private final String topic;
     private final String eventType;
@@ -36,6 +36,15 @@ public record Product(
         );
     }
 
+    /**
+     * Same product with a different inventory figure, without touching {@code updatedAt}.
+     * Used when the inventory is computed rather than read from the product row.
+     */
+    public Product withInventory(int inventory) {
+        return new Product(id, name, description, price, inventory, image, categories, additionalData,
+                createdAt, updatedAt, version);
+    }
+
     public Product updateInventory(int newInventory) {
         return new Product(
                 id,
@@ -0,0 +1,11 @@
+package com.ecommerce.productservice.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * What batch validation needs to know about a product.
+ *
+ * @param inventory available stock ({@code inventory - reserved}, or the sum of the shards)
+ */
+public record ProductAvailability(Long id, String name, BigDecimal price, int inventory) {
+}
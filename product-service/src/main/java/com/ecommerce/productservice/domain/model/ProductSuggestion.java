@@ -0,0 +1,7 @@
+package com.ecommerce.productservice.domain.model;
+
+/**
+ * Autocomplete entry: a product name matching the typed prefix.
+ */
+public record ProductSuggestion(Long id, String name) {
+}
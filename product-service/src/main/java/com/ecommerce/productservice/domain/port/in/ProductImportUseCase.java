@@ -0,0 +1,23 @@
+package com.ecommerce.productservice.domain.port.in;
+
+import com.ecommerce.productservice.application.dto.ProductImportFormat;
+import com.ecommerce.productservice.application.dto.ProductImportResponse;
+
+import java.io.InputStream;
+
+/**
+ * Inbound port for onboarding whole catalogs at once.
+ */
+public interface ProductImportUseCase {
+
+    /**
+     * Creates or updates (matched by name) the products read from {@code input}. The input is parsed as a stream
+     * and written in chunks, each in its own transaction, so memory use does not depend on the input size and
+     * a rejected row never rolls back other rows.
+     *
+     * @param input  the file contents
+     * @param format the file format
+     * @return row counts and the rejected rows
+     */
+    ProductImportResponse importProducts(InputStream input, ProductImportFormat format);
+}
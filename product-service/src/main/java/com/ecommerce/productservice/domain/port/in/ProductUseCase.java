@@ -6,6 +6,7 @@ import com.ecommerce.shared.domain.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines the application service interface for product-related business logic.
@@ -40,6 +41,32 @@ public interface ProductUseCase {
      */
     ProductResponse findById(Long id);
 
+    /**
+     * Returns a token that changes whenever the representation of a product changes, for HTTP conditional requests.
+     * It combines the ID, the version and the available inventory: reservations from sharded stock change the
+     * inventory without incrementing the version.
+     *
+     * @param id the product ID
+     * @return the revision token
+     * @throws ResourceNotFoundException if the product is not found
+     */
+    String findRevision(Long id);
+
+    /**
+     * Returns a token that changes whenever a page of {@link #findAllPaginated} would change: the revision of each
+     * product on it, or the total count. Computed from a projection, without loading or mapping the products.
+     */
+    String findPageRevision(int page, int size);
+
+    /**
+     * Returns a token that changes whenever a page of {@link #findAllByCursor} would change, computed like
+     * {@link #findPageRevision}.
+     *
+     * @throws com.ecommerce.productservice.domain.exception.InvalidProductDataException if the cursor or size is
+     *                                                                                  invalid
+     */
+    String findCursorPageRevision(String cursor, int size, boolean estimateTotal);
+
     /**
      * Updates an existing product.
      *
@@ -84,4 +111,83 @@ public interface ProductUseCase {
      * @return a paginated list of products matching the color
      */
     Page<ProductResponse> findByColor(String color, int page, int size);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves all products with keyset pagination by ID: unlike {@link #findAllPaginated}, neither an offset
+     * nor a count is computed, so every page costs the same.
+     *
+     * @param cursor        continuation token of the previous page, or {@code null}/blank for the first page
+     * @param size          the maximum number of items per page
+     * @param estimateTotal whether to include an estimated total taken from planner statistics
+     * @return the page of products and the cursor of the next one
+     * @throws com.ecommerce.productservice.domain.exception.InvalidProductDataException if the cursor or size is
+     *                                                                                  invalid
+     */
+    ProductCursorPageResponse findAllByCursor(String cursor, int size, boolean estimateTotal);
+
+    /**
+     * Retrieves products filtered by color with keyset pagination by ID, see {@link #findAllByCursor}.
+     */
+    ProductCursorPageResponse findByColorByCursor(String color, String cursor, int size, boolean estimateTotal);
+
+    /**
+     * Retrieves products whose additional data matches every given attribute, with keyset pagination by ID,
+     * see {@link #findAllByCursor}.
+     *
+     * @param attributes attribute name to expected value, compared as JSON strings
+     * @throws com.ecommerce.productservice.domain.exception.InvalidProductDataException if no attribute is given,
+     *                                                                                  or the cursor or size is invalid
+     */
+    ProductCursorPageResponse findByAttributes(Map<String, String> attributes, String cursor, int size,
+                                               boolean estimateTotal);
+
+    /**
+     * Retrieves the products of a category with keyset pagination by ID, see {@link #findAllByCursor}.
+     *
+     * @param category the category to browse
+     * @param cursor   continuation token of the previous page, or {@code null} for the first page
+     * @param size     the maximum number of items per page
+     * @return the page of products and the cursor of the next one
+     */
+    ProductCursorPageResponse findByCategory(String category, String cursor, int size);
+
+    /**
+     * Searches products by name and description, best matches first. Each word of the query matches words
+     * starting with it.
+     *
+     * @param query the words to search for
+     * @param page  the page number (0-based)
+     * @param size  the number of items per page
+     * @return the page of matching products
+     */
+    ProductSearchResponse search(String query, int page, int size);
+
+    /**
+     * Suggests products whose name has words starting with the typed words, for autocomplete.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, best first
+     */
+    List<ProductSuggestionResponse> suggest(String prefix, int limit);
+
+    /**
+     * Splits the inventory of a hot product across sub-counters so concurrent reservations do not contend on
+     * a single row. Calling it on a sharded product changes the number of shards.
+     *
+     * @param id     the product ID
+     * @param shards the number of sub-counters
+     * @return the product's details, with the inventory summed over the shards
+     * @throws ResourceNotFoundException if the product is not found
+     */
+    ProductResponse shardInventory(Long id, int shards);
+
+    /**
+     * Merges the sub-counters of a sharded product back into a single inventory figure.
+     *
+     * @param id the product ID
+     * @return the product's details
+     * @throws ResourceNotFoundException if the product is not found
+     */
+    ProductResponse unshardInventory(Long id);
+}
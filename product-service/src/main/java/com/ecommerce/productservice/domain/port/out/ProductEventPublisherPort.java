@@ -3,9 +3,30 @@ package com.ecommerce.productservice.domain.port.out;
 import com.ecommerce.productservice.domain.event.ProductEventType;
 import com.ecommerce.productservice.domain.model.Product;
 
+import java.util.Collection;
+
 /**
  * Outbound port for publishing product-related events.
  */
 public interface ProductEventPublisherPort {
     void publish(Product product, ProductEventType eventType);
+
+    /**
+     * Announces that the stock of the given products changed, in a single event.
+     */
+    void publishInventoryUpdated(Collection<Long> productIds);
+
+    /**
+     * Announces, once the surrounding transaction commits, that products were created, deleted or had their
+     * details (name, description, ...) changed, in a single event. Consumers that only depend on the details, such
+     * as the name index, ignore the stock-only events of {@link #publishInventoryUpdated}.
+     */
+    void publishDetailsChanged(Collection<Long> productIds);
+
+    /**
+     * Records the given products for the change feed ({@link ProductEventType#PRODUCT_CHANGED}), in the transaction
+     * of the change. Changes to the same product within the coalescing window are published as a single event
+     * carrying its latest state.
+     */
+    void publishChanged(Collection<Long> productIds);
 }
\ No newline at end of file
@@ -1,19 +1,37 @@
 package com.ecommerce.productservice.domain.port.out;
 
+import com.ecommerce.productservice.application.dto.ProductResponse;
 import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.model.ProductAvailability;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
 
 public interface ProductRepositoryPort {
     Product save(Product product);
 
     Product findById(Long id);
 
+    /**
+     * Returns a page of products ordered by ID.
+     */
     Page<Product> findAll(int page, int size);
 
+    /**
+     * Returns the revision ({@code id-version-availableInventory}) of up to {@code limit} products by ascending ID
+     * after {@code afterId}, skipping the first {@code offset}, without loading the products.
+     */
+    List<String> findRevisions(long afterId, long offset, int limit);
+
+    long count();
+
     void delete(Long id);
 
     Product update(Long id, Product product);
@@ -24,8 +42,132 @@ public interface ProductRepositoryPort {
 
     List<Product> findAllByIds(List<Long> ids);
 
+    /**
+     * Reads the name, price and available stock of the given products straight from the database, bypassing the
+     * product cache. Unknown IDs are absent from the result.
+     */
+    List<ProductAvailability> findAvailabilityByIds(Collection<Long> ids);
+
+    /**
+     * Reads the given products straight into their response form, selecting only the returned columns with the
+     * categories aggregated in the same query. Unknown IDs are absent from the result.
+     */
+    List<ProductResponse> findDetailsByIds(Collection<Long> ids);
+
     Page<Product> findByColor(String color, int page, int size);
 
-    List<Product> updateStockInBatch(Map<Long, Integer> productIdToStock); // New method
+    /**
+     * Returns the products whose additional data contains all the given attributes, ordered by ID.
+     *
+     * @param attributes attribute name to expected value; all products if empty
+     * @param afterId    only products with a greater ID are returned
+     * @param limit      maximum number of products returned
+     */
+    List<Product> findByAttributes(Map<String, String> attributes, long afterId, int limit);
+
+    /**
+     * Estimates, without counting, how many products {@link #findByAttributes} would return over all pages.
+     *
+     * @return the estimate, empty if none is available
+     */
+    OptionalLong estimateCountByAttributes(Map<String, String> attributes);
+
+    /**
+     * Returns the products of a category, ordered by ID.
+     *
+     * @param afterId only products with a greater ID are returned
+     * @param limit   maximum number of products returned
+     */
+    List<Product> findByCategory(String category, long afterId, int limit);
+
+    /**
+     * Full-text search on name and description, best matches first. Every word of {@code text} must match a
+     * word of the product, as a prefix.
+     */
+    List<Product> search(String text, long offset, int limit);
+
+    /**
+     * Creates or updates products matched by name, in one transaction. Names must be unique within the list.
+     * The inventory of updated products is the available stock, as for {@link #update}.
+     *
+     * @return the IDs of the created and updated products
+     */
+    List<Long> upsertAllByName(List<Product> products);
+
+    /**
+     * Atomically holds stock for every line of an order until {@code expiresAt}.
+     * Either all lines are held or none is; if products are unknown or out of stock, nothing is held and the
+     * rejection is recorded with the order, to be committed with the caller's transaction.
+     * Holding stock again for an order that already holds it, or that was cancelled, has no effect.
+     *
+     * @param orderId    the order the stock is held for
+     * @param quantities requested quantity per product ID
+     * @param expiresAt  when the hold is released unless committed
+     * @return IDs of the products that are unknown or short of stock, empty if the stock is held
+     */
+    List<Long> reserveStock(UUID orderId, Map<Long, Integer> quantities, LocalDateTime expiresAt);
+
+    /**
+     * Atomically holds stock for several orders, with one stock update per product for the summed quantities.
+     * Either every order is held or none is; an {@link com.ecommerce.productservice.domain.exception.InvalidInventoryException}
+     * is thrown if a product is unknown or cannot cover the whole batch, or if an order already has reservations
+     * recorded. The caller should then reserve order by order to find out which orders are affected.
+     *
+     * @param quantitiesByOrder requested quantity per product ID, per order
+     * @param expiresAt         when the holds are released unless committed
+     */
+    void reserveStockForOrders(Map<UUID, Map<Long, Integer>> quantitiesByOrder, LocalDateTime expiresAt);
+
+    /**
+     * Turns the stock held for a paid order into a definitive decrement.
+     */
+    void commitReservation(UUID orderId);
+
+    /**
+     * Returns the stock held or consumed by a cancelled order.
+     *
+     * @return {@code false} if the order has no reservations recorded
+     */
+    boolean releaseReservation(UUID orderId);
+
+    /**
+     * Returns the stock held or consumed by several cancelled orders, with the quantities summed per product.
+     *
+     * @return IDs of the orders that have reservations recorded
+     */
+    Set<UUID> releaseReservations(Collection<UUID> orderIds);
+
+    /**
+     * Increments the inventory of every product by the given quantity.
+     * Used for orders reserved before reservations were recorded.
+     *
+     * @param quantities returned quantity per product ID
+     * @return IDs of the products that no longer exist
+     */
+    List<Long> releaseStock(Map<Long, Integer> quantities);
+
+    /**
+     * Records orders restocked with {@link #releaseStock} as released, so that restocking them again has no effect.
+     *
+     * @param quantitiesByOrder returned quantity per product ID, per order
+     */
+    void recordReleased(Map<UUID, Map<Long, Integer>> quantitiesByOrder);
+
+    /**
+     * Returns the stock of one batch of holds that expired before {@code now}.
+     *
+     * @return product ID of every expired line, one entry per line
+     */
+    List<Long> expireReservations(LocalDateTime now, int batchSize);
+
+    /**
+     * Splits the inventory of a product across {@code shards} sub-counters (or re-splits it if already sharded).
+     */
+    void shardInventory(Long id, int shards);
+
+    /**
+     * Merges the sub-counters of a sharded product back into a single inventory figure.
+     */
+    void unshardInventory(Long id);
 
 }
\ No newline at end of file
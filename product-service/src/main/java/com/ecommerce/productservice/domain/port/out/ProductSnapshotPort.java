@@ -0,0 +1,28 @@
+package com.ecommerce.productservice.domain.port.out;
+
+import com.ecommerce.productservice.application.dto.ProductResponse;
+
+import java.util.Optional;
+
+/**
+ * Outbound port for an in-process, read-only copy of the catalog that serves product lookups without a database
+ * round trip.
+ */
+public interface ProductSnapshotPort {
+
+    /**
+     * Returns the product as of the current snapshot and the changes applied since.
+     *
+     * @return empty if the snapshot is disabled, not built yet or does not know the product; callers then read the
+     * product from {@link ProductRepositoryPort}
+     */
+    Optional<ProductResponse> findById(Long id);
+
+    /**
+     * Returns the revision of the product as {@link #findById} returns it, so that the HTTP validator and the body
+     * come from the same source.
+     *
+     * @return empty whenever {@link #findById} is
+     */
+    Optional<String> findRevision(Long id);
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.productservice.domain.port.out;
+
+import com.ecommerce.productservice.domain.model.ProductSuggestion;
+
+import java.util.List;
+
+/**
+ * Outbound port for product name autocomplete.
+ */
+public interface ProductSuggestPort {
+
+    /**
+     * Returns products with a word in their name starting with each word of {@code prefix}, best matches first.
+     */
+    List<ProductSuggestion> suggest(String prefix, int limit);
+}
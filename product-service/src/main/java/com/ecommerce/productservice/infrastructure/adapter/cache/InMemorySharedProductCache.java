@@ -0,0 +1,44 @@
+package com.ecommerce.productservice.infrastructure.adapter.cache;
+
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Embedded stand-in for the shared tier, used by tests and single-instance runs without Redis.
+ * It lives in the JVM, so it is only "shared" between the components of one instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product-cache.l2", name = "type", havingValue = "in-memory")
+public class InMemorySharedProductCache implements SharedProductCache {
+
+    private final Cache<Long, Product> store;
+
+    public InMemorySharedProductCache(ProductCacheProperties properties) {
+        this.store = Caffeine.newBuilder()
+                .maximumSize(properties.l2().maximumSize())
+                .expireAfterWrite(properties.l2().ttl())
+                .build();
+    }
+
+    @Override
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        return store.getAllPresent(ids);
+    }
+
+    @Override
+    public void putAll(Collection<Product> products) {
+        products.forEach(product -> store.put(product.id(), product));
+    }
+
+    @Override
+    public void evictAll(Collection<Long> ids) {
+        store.invalidateAll(ids);
+    }
+}
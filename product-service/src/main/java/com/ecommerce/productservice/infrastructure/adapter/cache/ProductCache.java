@@ -0,0 +1,214 @@
+package com.ecommerce.productservice.infrastructure.adapter.cache;
+
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.port.out.ProductEventPublisherPort;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Two-tier product cache keyed by product ID: an in-process Caffeine tier (L1) in front of a tier shared by all
+ * instances (L2, see {@link SharedProductCache}).
+ * <p>
+ * Reads go L1 → L2 → database; products found in a lower tier are promoted to the tiers above. Missing IDs are
+ * loaded through Caffeine's asynchronous bulk load, so concurrent requests for the same missing product wait for
+ * the single in-flight load instead of all hitting L2 and the database (stampede protection).
+ * <p>
+ * Writes evict the changed IDs from both tiers right away, again when the transaction completes, and from L2 once
+ * more {@code product-cache.l2.eviction-delay} after the commit. A load puts a product in L2 only if this instance
+ * has not evicted it since the load started (a load that outlives the remembered evictions puts nothing), and
+ * Caffeine drops an in-flight L1 load whose key is evicted. An old row can therefore only survive a write if a load
+ * on another instance took longer than the eviction delay, and then at most until the TTL of its tier.
+ * <p>
+ * After a commit the IDs are published on the {@code product_inventory_updated} topic, one message per transaction,
+ * and every instance drops them from its L1
+ * ({@link com.ecommerce.productservice.infrastructure.adapter.kafka.ProductCacheInvalidationListener}).
+ * Entries also expire after the configured TTL of each tier, which bounds staleness if an invalidation is lost.
+ * <p>
+ * Metrics: {@code cache.gets{cache=products,tier=l1}} from Caffeine, {@code product.cache.l2.gets{result}} for the
+ * shared tier and {@code product.cache.hit.ratio{tier}} for both.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+
+    public static final String CACHE_NAME = "products";
+
+    private final AsyncCache<Long, Product> local;
+    private final SharedProductCache shared;
+    private final Duration evictionDelay;
+    // Value of evictions when each recently evicted ID was last evicted; loads compare it with their start
+    private final Cache<Long, Long> lastEvicted;
+    private final AtomicLong evictions = new AtomicLong();
+    // Latest eviction dropped from lastEvicted: a load started before it cannot tell which products changed
+    private final AtomicLong forgottenEviction = new AtomicLong();
+    private final ProductEventPublisherPort eventPublisher;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    public ProductCache(SharedProductCache shared, ProductEventPublisherPort eventPublisher,
+                        ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.shared = shared;
+        this.eventPublisher = eventPublisher;
+        this.evictionDelay = properties.l2().evictionDelay();
+        this.lastEvicted = Caffeine.newBuilder()
+                .maximumSize(properties.l1().maximumSize())
+                .expireAfterWrite(properties.l1().ttl())
+                .executor(Runnable::run) // Forget evictions before the write returns, not later on another thread
+                .<Long, Long>evictionListener((id, eviction, cause) ->
+                        forgottenEviction.accumulateAndGet(eviction, Math::max))
+                .build();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.l1().maximumSize())
+                .expireAfterWrite(properties.l1().ttl())
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local.synchronous(), CACHE_NAME, "tier", "l1");
+        this.sharedHits = Counter.builder("product.cache.l2.gets").tag("result", "hit").register(meterRegistry);
+        this.sharedMisses = Counter.builder("product.cache.l2.gets").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("product.cache.hit.ratio", local, cache -> cache.synchronous().stats().hitRate())
+                .tag("tier", "l1")
+                .register(meterRegistry);
+        Gauge.builder("product.cache.hit.ratio", this, cache -> cache.sharedHitRatio())
+                .tag("tier", "l2")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the products with the given IDs from the cache, loading the ones found in neither tier with
+     * {@code loader} (one call for all of them) and caching the result.
+     *
+     * @param loader loads the products with the given IDs from the database; IDs it does not return are not cached
+     * @return the products found, keyed by ID; unknown IDs are absent
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, Product>> loader) {
+        try {
+            return local.getAll(ids, (missing, executor) -> {
+                try {
+                    return CompletableFuture.completedFuture(load(Set.copyOf(missing), loader));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts changed products from both tiers, and publishes the invalidation to the other instances once the
+     * surrounding transaction commits. The shared tier is evicted once more after the eviction delay.
+     */
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> keys = Set.copyOf(ids);
+        invalidate(keys);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommitted(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(keys);
+                if (status == STATUS_COMMITTED) {
+                    onCommitted(keys);
+                }
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        evictAll(List.of(id));
+    }
+
+    /**
+     * Drops products from this instance's L1 only, on invalidations published by another instance.
+     */
+    public void evictLocal(Collection<Long> ids) {
+        markEvicted(ids);
+        local.synchronous().invalidateAll(ids);
+    }
+
+    private Map<Long, Product> load(Set<Long> ids, Function<Set<Long>, Map<Long, Product>> loader) {
+        long startedAt = evictions.get();
+        Map<Long, Product> found = new HashMap<>(shared.getAll(ids));
+        sharedHits.increment(found.size());
+        sharedMisses.increment(ids.size() - found.size());
+        if (found.size() < ids.size()) {
+            Set<Long> remaining = new HashSet<>(ids);
+            remaining.removeAll(found.keySet());
+            Map<Long, Product> loaded = loader.apply(remaining);
+            // A product evicted during the load may have been read before the write committed
+            List<Product> unchanged = loaded.values().stream()
+                    .filter(product -> !evictedSince(product.id(), startedAt))
+                    .toList();
+            shared.putAll(unchanged);
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    private void invalidate(Set<Long> ids) {
+        markEvicted(ids);
+        local.synchronous().invalidateAll(ids);
+        shared.evictAll(ids);
+    }
+
+    private void markEvicted(Collection<Long> ids) {
+        long eviction = evictions.incrementAndGet();
+        ids.forEach(id -> lastEvicted.put(id, eviction));
+    }
+
+    private boolean evictedSince(Long id, long startedAt) {
+        if (forgottenEviction.get() > startedAt) {
+            return true;
+        }
+        Long eviction = lastEvicted.getIfPresent(id);
+        return eviction != null && eviction > startedAt;
+    }
+
+    private void onCommitted(Set<Long> ids) {
+        publishInvalidation(ids);
+        // Loads that overlapped the commit on other instances may have put the old rows back in the shared tier
+        CompletableFuture.runAsync(() -> invalidate(ids),
+                CompletableFuture.delayedExecutor(evictionDelay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void publishInvalidation(Set<Long> ids) {
+        try {
+            eventPublisher.publishInventoryUpdated(ids);
+        } catch (Exception e) {
+            // Other instances catch up when their L1 entries expire
+            log.warn("Failed to publish cache invalidation for products {}: {}", ids, e.getMessage());
+        }
+    }
+
+    private double sharedHitRatio() {
+        double requests = sharedHits.count() + sharedMisses.count();
+        return requests == 0 ? 0 : sharedHits.count() / requests;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.productservice.infrastructure.adapter.cache;
+
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Redis implementation of the shared tier: products are stored as JSON under {@code <prefix><id>}, read with a
+ * single {@code MGET} and written with one pipelined {@code SET ... PX} per product.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product-cache.l2", name = "type", havingValue = "redis", matchIfMissing = true)
+public class RedisSharedProductCache implements SharedProductCache {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductCacheProperties.Shared properties;
+
+    public RedisSharedProductCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                   ProductCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties.l2();
+    }
+
+    @Override
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        List<Long> keys = List.copyOf(ids);
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys.stream().map(this::key).toList());
+            Map<Long, Product> hits = HashMap.newHashMap(keys.size());
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    hits.put(keys.get(i), objectMapper.readValue(values.get(i), Product.class));
+                }
+            }
+            return hits;
+        } catch (Exception e) {
+            log.warn("Shared product cache read failed, falling back to the database: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void putAll(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        try {
+            Map<byte[], byte[]> entries = new LinkedHashMap<>();
+            for (Product product : products) {
+                entries.put(key(product.id()).getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(product));
+            }
+            Expiration expiration = Expiration.from(properties.ttl());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Shared product cache write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void evictAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(ids.stream().map(this::key).toList());
+        } catch (Exception e) {
+            // Entries expire after the L2 TTL at the latest
+            log.warn("Shared product cache eviction failed for {}: {}", ids, e.getMessage());
+        }
+    }
+
+    private String key(Long id) {
+        return properties.keyPrefix() + id;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.productservice.infrastructure.adapter.cache;
+
+import com.ecommerce.productservice.domain.model.Product;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Second cache tier, shared by all product-service instances.
+ * Implementations must not throw: a failing tier behaves like a miss so reads fall through to the database.
+ */
+public interface SharedProductCache {
+
+    /**
+     * @return the cached products among {@code ids}, keyed by ID; missing IDs are absent
+     */
+    Map<Long, Product> getAll(Collection<Long> ids);
+
+    void putAll(Collection<Product> products);
+
+    void evictAll(Collection<Long> ids);
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.infrastructure.adapter.cache.ProductCache;
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductEventPublisherAdapter.InventoryUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.CloudEventUtils;
+import io.cloudevents.core.data.PojoCloudEventData;
+import io.cloudevents.jackson.PojoCloudEventDataMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops products changed by any instance from the local cache tier.
+ * <p>
+ * Every instance must see every invalidation, so the listener is assigned the partition of the
+ * {@code product_inventory_updated} topic directly (single partition, see {@code ProductKafkaConfig}) instead of
+ * joining a consumer group, and starts from its end: invalidations older than the instance are irrelevant, its L1
+ * starts empty. No offset is committed, so restarts leave no consumer group or offsets behind on the brokers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheInvalidationListener {
+
+    private final ProductCache productCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "#{T(com.ecommerce.productservice.domain.event.ProductEventType).PRODUCT_INVENTORY_UPDATED.topic}",
+                    partitionOffsets = @PartitionOffset(partition = "0", initialOffset = "0", seekPosition = "END")),
+            containerFactory = "kafkaListenerContainerFactory")
+    public void onInventoryUpdated(@Payload CloudEvent cloudEvent) {
+        try {
+            PojoCloudEventData<InventoryUpdate> data = CloudEventUtils.mapData(
+                    cloudEvent, PojoCloudEventDataMapper.from(objectMapper, InventoryUpdate.class));
+            if (data != null && data.getValue() != null && data.getValue().ids() != null) {
+                productCache.evictLocal(data.getValue().ids());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable inventory update {}: {}", cloudEvent.getId(), e.getMessage());
+        }
+    }
+}
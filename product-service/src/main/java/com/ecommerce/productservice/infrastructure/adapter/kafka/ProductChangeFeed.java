@@ -0,0 +1,168 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.domain.event.ProductEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.core.data.PojoCloudEventData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the compacted product change feed ({@link ProductEventType#PRODUCT_CHANGED}), keyed by product ID, so
+ * downstream caches can follow price and inventory without querying the product service.
+ * <p>
+ * Product changes only record the product in the {@code product_change_outbox} table, in the transaction of the
+ * change, so a crash between the commit and the next flush loses nothing. Every coalescing window the pending rows
+ * are locked ({@code SKIP LOCKED}, so instances flush disjoint batches), the current state of their products is
+ * loaded in one query and published, one event per product, and the rows are deleted once the broker acknowledged
+ * the event; products whose send failed stay pending for the next flush. A product sold a thousand times during a
+ * flash sale window therefore costs one event, and the compacted topic keeps only its latest state.
+ * Products deleted in the meantime are published with {@code deleted} set, since the CloudEvents serializer cannot
+ * write a null tombstone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductChangeFeed {
+
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+    private static final String MARK_SQL = "INSERT INTO product_change_outbox (product_id) VALUES (?)";
+    private static final String LOCK_PENDING_SQL = """
+            SELECT id, product_id FROM product_change_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+            """;
+    private static final String UNMARK_SQL = "DELETE FROM product_change_outbox WHERE id = ?";
+    private static final String LOAD_SQL = """
+            SELECT p.id, p.price, p.version, p.updated_at,
+                   CASE WHEN p.stock_sharded
+                        THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id)
+                        ELSE p.inventory - p.reserved END AS available
+            FROM products p WHERE p.id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Records the given products for the next flush, in the surrounding transaction if there is one.
+     */
+    public void markChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = List.copyOf(Set.copyOf(ids));
+        namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(MARK_SQL, productIds, productIds.size(),
+                (ps, id) -> ps.setLong(1, id));
+    }
+
+    @Scheduled(fixedDelayString = "${product-change-feed.window:PT1S}")
+    public void flush() {
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> flushBatch()));
+            } while (more);
+        } catch (Exception e) {
+            // The rows stay pending and are retried on the next flush
+            log.warn("Failed to flush the change feed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes one batch of pending products and deletes the rows of those the broker acknowledged.
+     *
+     * @return whether a full batch was published, so more rows may be pending
+     */
+    private boolean flushBatch() {
+        Map<Long, List<Long>> rowsByProduct = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.getJdbcTemplate().query(LOCK_PENDING_SQL, (RowCallbackHandler) rs ->
+                        rowsByProduct.computeIfAbsent(rs.getLong("product_id"), id -> new ArrayList<>()).add(rs.getLong("id")),
+                FLUSH_BATCH_SIZE);
+        if (rowsByProduct.isEmpty()) {
+            return false;
+        }
+        Set<Long> published = publish(List.copyOf(rowsByProduct.keySet()));
+        List<Long> rows = published.stream().flatMap(id -> rowsByProduct.get(id).stream()).toList();
+        namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(UNMARK_SQL, rows, rows.size(),
+                (ps, row) -> ps.setLong(1, row));
+        if (published.size() < rowsByProduct.size()) {
+            log.warn("Failed to publish change feed for {} of {} products, retrying on the next flush",
+                    rowsByProduct.size() - published.size(), rowsByProduct.size());
+            return false;
+        }
+        log.debug("Published change feed for {} products", published.size());
+        return rowsByProduct.values().stream().mapToInt(List::size).sum() == FLUSH_BATCH_SIZE;
+    }
+
+    /**
+     * @return IDs of the products whose event the broker acknowledged
+     */
+    private Set<Long> publish(List<Long> ids) {
+        Map<Long, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        Set<Long> deleted = new HashSet<>(ids);
+        namedParameterJdbcTemplate.query(LOAD_SQL, Map.of("ids", ids), (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            deleted.remove(id);
+            sends.put(id, send(new ProductChange(id, rs.getBigDecimal("price"), rs.getInt("available"),
+                    rs.getLong("version"), rs.getObject("updated_at", LocalDateTime.class), false)));
+        });
+        deleted.forEach(id -> sends.put(id, send(new ProductChange(id, null, null, null, null, true))));
+
+        Set<Long> published = new HashSet<>();
+        long deadline = System.nanoTime() + SEND_TIMEOUT.toNanos();
+        sends.forEach((id, sent) -> {
+            try {
+                sent.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Change feed event for product {} not acknowledged: {}", id, e.getMessage());
+            }
+        });
+        return published;
+    }
+
+    private CompletableFuture<?> send(ProductChange change) {
+        ProductEventType eventType = ProductEventType.PRODUCT_CHANGED;
+        try {
+            CloudEvent cloudEvent = CloudEventBuilder.v1()
+                    .withId(UUID.randomUUID().toString())
+                    .withType(eventType.getEventType())
+                    .withSource(URI.create("/product-service"))
+                    .withDataContentType("application/json")
+                    .withData(PojoCloudEventData.wrap(change, objectMapper::writeValueAsBytes))
+                    .withSubject("com.ecommerce.event.report." + eventType.getSubject())
+                    .build();
+            return kafkaTemplate.send(eventType.getTopic(), String.valueOf(change.id()), cloudEvent);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Event data of the change feed. {@code inventory} is the available stock, as returned by the API.
+     */
+    public record ProductChange(Long id, BigDecimal price, Integer inventory, Long version, LocalDateTime updatedAt,
+                                boolean deleted) {
+    }
+}
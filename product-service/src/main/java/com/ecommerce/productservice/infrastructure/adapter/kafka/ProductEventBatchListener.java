@@ -0,0 +1,112 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.application.service.ProductApplicationService;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import com.ecommerce.shared.domain.event.SharedOrderEvent;
+import io.cloudevents.CloudEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Batch mode of {@link ProductEventListener}: consumes a whole poll and applies the reservations
+ * ({@code ORDER_CREATED}, {@code RETRY_VALIDATION}) and restocks ({@code CANCEL}) of all its orders in one
+ * transaction, with one stock update per product. {@code VALIDATION_SUCCEEDED} is published for the reserved orders
+ * once that transaction commits; {@code PAYMENT_SUCCEEDED} events are then processed one by one.
+ * <p>
+ * The batch falls back to per-order processing, in offset order, when an order appears in more than one event, or
+ * when the grouped transaction fails (a product cannot cover the summed quantity, an order was already reserved):
+ * the per-order path tells which orders fail and publishes their {@code VALIDATION_FAILED}.
+ * <p>
+ * A failing record is redelivered with everything after it, so the records outside the group are processed first:
+ * when one of them fails, redelivery starts at the first grouped record and nothing grouped has been applied yet.
+ * Records outside the group that had already succeeded are processed again; committing a payment is idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order-events.batch", name = "enabled", havingValue = "true")
+public class ProductEventBatchListener {
+
+    private final ProductApplicationService productService;
+    private final ProductEventListener recordListener;
+
+    @KafkaListener(topics = "#{consumerTopics}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleEvents(List<ConsumerRecord<String, CloudEvent>> records, Acknowledgment acknowledgment) {
+        List<OrderEventPayload> reservations = new ArrayList<>();
+        List<OrderEventPayload> restocks = new ArrayList<>();
+        Set<Integer> grouped = new HashSet<>();
+        Set<UUID> orderIds = new HashSet<>();
+        boolean conflict = false;
+
+        for (int i = 0; i < records.size() && !conflict; i++) {
+            ConsumerRecord<String, CloudEvent> record = records.get(i);
+            SharedOrderEvent eventType = recordListener.eventType(record.topic());
+            Optional<OrderEventPayload> payload = eventType != null
+                    ? recordListener.extractOrderPayloadFromEvent(record.value())
+                    : Optional.empty();
+            if (payload.isEmpty()) {
+                continue; // Reported by the per-record path
+            }
+            conflict = !orderIds.add(payload.get().id());
+            switch (eventType) {
+                case ORDER_CREATED, RETRY_VALIDATION -> reservations.add(payload.get());
+                case CANCEL -> restocks.add(payload.get());
+                default -> {
+                    continue;
+                }
+            }
+            grouped.add(i);
+        }
+
+        if (conflict) {
+            log.info("Batch of {} records repeats an order, processing it order by order", records.size());
+            grouped.clear();
+        }
+
+        int firstGrouped = grouped.stream().min(Integer::compare).orElse(records.size());
+        processOneByOne(records, i -> !grouped.contains(i), firstGrouped);
+        if (!grouped.isEmpty()) {
+            try {
+                productService.reserveAndRestockAll(reservations, restocks);
+            } catch (Exception e) {
+                log.warn("Grouped processing of {} reservations and {} restocks failed, processing them order by order: {}",
+                        reservations.size(), restocks.size(), e.getMessage());
+                processOneByOne(records, grouped::contains, records.size());
+            }
+        }
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Processes the selected records in offset order. On failure, the batch is redelivered from the failed record,
+     * or from {@code redeliverFrom} if that comes first.
+     */
+    private void processOneByOne(List<ConsumerRecord<String, CloudEvent>> records, IntPredicate selected,
+                                 int redeliverFrom) {
+        for (int i = 0; i < records.size(); i++) {
+            if (!selected.test(i)) {
+                continue;
+            }
+            ConsumerRecord<String, CloudEvent> record = records.get(i);
+            try {
+                recordListener.handleEvent(record.value(), record.topic());
+            } catch (Exception e) {
+                throw new BatchListenerFailedException("Failed to process order event", e, Math.min(i, redeliverFrom));
+            }
+        }
+    }
+}
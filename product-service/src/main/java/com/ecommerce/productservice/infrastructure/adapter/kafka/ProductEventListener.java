@@ -10,6 +10,7 @@ import io.cloudevents.core.data.PojoCloudEventData;
 import io.cloudevents.jackson.PojoCloudEventDataMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -25,7 +26,9 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Kafka listener for consuming order-related events in the product service.
+ * Kafka listener for consuming order-related events in the product service, one event per transaction.
+ * Stopped when {@code order-events.batch.enabled} is set, {@link ProductEventBatchListener} consumes the same topics
+ * instead.
  */
 @Slf4j
 @Component
@@ -39,6 +42,7 @@ public class ProductEventListener {
     private static final SharedOrderEvent[] CONSUMER_EVENTS = {
             SharedOrderEvent.ORDER_CREATED,
             SharedOrderEvent.RETRY_VALIDATION,
+            SharedOrderEvent.PAYMENT_SUCCEEDED,
             SharedOrderEvent.CANCEL
     };
 
@@ -59,10 +63,11 @@ public class ProductEventListener {
     /**
      * Processes incoming order events and delegates to the application service.
      */
-    @KafkaListener(topics = "#{consumerTopics}", containerFactory = "kafkaListenerContainerFactory")
+    @KafkaListener(topics = "#{consumerTopics}", containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "#{!${order-events.batch.enabled:false}}")
     public void handleEvent(@Payload CloudEvent cloudEvent,
                             @Header(value = KafkaHeaders.RECEIVED_TOPIC, required = false) String topic) {
-        SharedOrderEvent eventType = topicToEventTypeMap.get(topic);
+        SharedOrderEvent eventType = eventType(topic);
         if (eventType == null) {
             log.warn("Received event on unknown topic: {}", topic);
             return;
@@ -71,6 +76,7 @@ public class ProductEventListener {
                 .ifPresentOrElse(payload -> {
                             switch (eventType) {
                                 case ORDER_CREATED, RETRY_VALIDATION -> productService.validateAndReserveStock(payload);
+                                case PAYMENT_SUCCEEDED -> productService.commitReservedStock(payload);
                                 case CANCEL -> productService.restock(payload);
                                 default -> log.warn("Unsupported event type: {}", eventType);
                             }
@@ -78,10 +84,27 @@ public class ProductEventListener {
                         () -> log.warn("Could not extract order from CloudEvent with type: {}", cloudEvent.getType()));
     }
 
+    /**
+     * Called when an event is given up on after its retries, before it goes to the dead-letter topic. The saga
+     * waits for a validation result, so an order whose validation could not be completed is reported as failed;
+     * the other events need no answer.
+     */
+    public void onRetriesExhausted(ConsumerRecord<?, ?> record) {
+        SharedOrderEvent eventType = eventType(record.topic());
+        if ((eventType == SharedOrderEvent.ORDER_CREATED || eventType == SharedOrderEvent.RETRY_VALIDATION)
+                && record.value() instanceof CloudEvent cloudEvent) {
+            extractOrderPayloadFromEvent(cloudEvent).ifPresent(productService::rejectValidation);
+        }
+    }
+
+    SharedOrderEvent eventType(String topic) {
+        return topicToEventTypeMap.get(topic);
+    }
+
     /**
      * Extracts an {@link OrderEventPayload} from a CloudEvent.
      */
-    private Optional<OrderEventPayload> extractOrderPayloadFromEvent(CloudEvent event) {
+    Optional<OrderEventPayload> extractOrderPayloadFromEvent(CloudEvent event) {
         if (event == null || event.getData() == null) {
             log.warn("Invalid CloudEvent or data is null");
             return Optional.empty();
@@ -11,8 +11,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,6 +29,7 @@ public class ProductEventPublisherAdapter implements ProductEventPublisherPort {
 
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final ProductChangeFeed changeFeed;
 
     @Override
     public void publish(Product product, ProductEventType eventType) {
@@ -46,4 +51,59 @@ public class ProductEventPublisherAdapter implements ProductEventPublisherPort {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * One event per call, so a reservation or import touching many products costs a single message. The event data
+     * only carries the product IDs; consumers reload the products if they need them.
+     */
+    @Override
+    public void publishInventoryUpdated(Collection<Long> productIds) {
+        send(new InventoryUpdate(List.copyOf(productIds), false));
+    }
+
+    @Override
+    public void publishDetailsChanged(Collection<Long> productIds) {
+        InventoryUpdate update = new InventoryUpdate(List.copyOf(productIds), true);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    send(update);
+                } catch (Exception e) {
+                    // The name index of other instances catches up on its next rebuild
+                    log.warn("Failed to announce changed details of products {}: {}", update.ids(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void send(InventoryUpdate update) {
+        ProductEventType eventType = ProductEventType.PRODUCT_INVENTORY_UPDATED;
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId(UUID.randomUUID().toString())
+                .withType(eventType.getEventType())
+                .withSource(URI.create("/product-service"))
+                .withDataContentType("application/json")
+                .withData(PojoCloudEventData.wrap(update, objectMapper::writeValueAsBytes))
+                .withSubject("com.ecommerce.event.report." + eventType.getSubject())
+                .build();
+        kafkaTemplate.send(eventType.getTopic(), cloudEvent);
+        log.debug("Published {} event for products: {}", eventType.getEventType(), update.ids());
+    }
+
+    @Override
+    public void publishChanged(Collection<Long> productIds) {
+        changeFeed.markChanged(productIds);
+    }
+
+    /**
+     * Event data of {@link ProductEventType#PRODUCT_INVENTORY_UPDATED}.
+     *
+     * @param details whether the details of the products changed (or they were created or deleted), not only stock
+     */
+    public record InventoryUpdate(List<Long> ids, boolean details) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductChangeFeed.ProductChange;
+import com.ecommerce.productservice.infrastructure.adapter.snapshot.MappedProductSnapshotAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.CloudEventUtils;
+import io.cloudevents.core.data.PojoCloudEventData;
+import io.cloudevents.jackson.PojoCloudEventDataMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the change feed to this instance's {@link MappedProductSnapshotAdapter}. Like
+ * {@link ProductCacheInvalidationListener}, each instance is assigned the partition directly and commits no offsets.
+ * It reads the compacted topic from the beginning on every start, at most one event per product, so no change
+ * published before the partition is assigned is lost; the adapter ignores the changes its snapshot already contains.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-snapshot", name = "enabled", havingValue = "true")
+public class ProductSnapshotChangeListener {
+
+    private final MappedProductSnapshotAdapter snapshotAdapter;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "#{T(com.ecommerce.productservice.domain.event.ProductEventType).PRODUCT_CHANGED.topic}",
+                    partitionOffsets = @PartitionOffset(partition = "0", initialOffset = "0", seekPosition = "BEGINNING")),
+            containerFactory = "kafkaListenerContainerFactory")
+    public void onProductChanged(@Payload CloudEvent cloudEvent) {
+        try {
+            PojoCloudEventData<ProductChange> data = CloudEventUtils.mapData(
+                    cloudEvent, PojoCloudEventDataMapper.from(objectMapper, ProductChange.class));
+            if (data != null && data.getValue() != null) {
+                snapshotAdapter.apply(data.getValue());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable product change {}: {}", cloudEvent.getId(), e.getMessage());
+        }
+    }
+}
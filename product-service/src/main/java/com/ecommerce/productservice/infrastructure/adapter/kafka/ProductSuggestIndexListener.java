@@ -0,0 +1,50 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.infrastructure.adapter.search.InMemoryProductSuggestIndex;
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductEventPublisherAdapter.InventoryUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.CloudEventUtils;
+import io.cloudevents.core.data.PojoCloudEventData;
+import io.cloudevents.jackson.PojoCloudEventDataMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds product changes made by any instance to this instance's {@link InMemoryProductSuggestIndex}. Only events
+ * announcing changed details are applied: stock updates, such as reservations, cannot change a name.
+ * Like {@link ProductCacheInvalidationListener}, each instance is assigned the partition directly and commits no offsets.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-search", name = "suggest-index", havingValue = "in-memory")
+public class ProductSuggestIndexListener {
+
+    private final InMemoryProductSuggestIndex suggestIndex;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(
+                    topic = "#{T(com.ecommerce.productservice.domain.event.ProductEventType).PRODUCT_INVENTORY_UPDATED.topic}",
+                    partitionOffsets = @PartitionOffset(partition = "0", initialOffset = "0", seekPosition = "END")),
+            containerFactory = "kafkaListenerContainerFactory")
+    public void onProductChanged(@Payload CloudEvent cloudEvent) {
+        try {
+            PojoCloudEventData<InventoryUpdate> data = CloudEventUtils.mapData(
+                    cloudEvent, PojoCloudEventDataMapper.from(objectMapper, InventoryUpdate.class));
+            InventoryUpdate update = data != null ? data.getValue() : null;
+            if (update != null && update.details() && update.ids() != null) {
+                suggestIndex.markChanged(update.ids());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable product change {}: {}", cloudEvent.getId(), e.getMessage());
+        }
+    }
+}
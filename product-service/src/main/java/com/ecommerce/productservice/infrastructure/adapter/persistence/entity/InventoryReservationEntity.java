@@ -0,0 +1,48 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ledger entry of the stock held for one order line.
+ * <p>
+ * Active reservations are summed incrementally into {@code products.reserved}, so the available stock of a product
+ * is {@code inventory - reserved} without scanning the ledger. Rows are written with plain JDBC by
+ * {@link com.ecommerce.productservice.infrastructure.adapter.persistence.repository.InventoryReservationStore}.
+ */
+@Getter
+@Setter
+@Entity(name = "inventory_reservations")
+@IdClass(InventoryReservationId.class)
+@Table(indexes = @Index(name = "idx_inventory_reservations_status_expires", columnList = "status, expiresAt"))
+public class InventoryReservationEntity {
+
+    @Id
+    private UUID orderId;
+
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReservationSource source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
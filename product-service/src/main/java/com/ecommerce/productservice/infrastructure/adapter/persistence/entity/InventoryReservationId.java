@@ -0,0 +1,23 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Composite key of {@link InventoryReservationEntity}: one reservation per order line.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class InventoryReservationId implements Serializable {
+    private UUID orderId;
+    private Long productId;
+}
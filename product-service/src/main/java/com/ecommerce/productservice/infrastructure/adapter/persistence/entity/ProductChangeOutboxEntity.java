@@ -0,0 +1,26 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A product changed by a committed transaction and not yet published on the change feed.
+ * <p>
+ * Rows are inserted in the transaction of the change, so a change is never lost between its commit and the next
+ * flush, and deleted once the broker acknowledged the event. Rows are read and written with plain JDBC by
+ * {@link com.ecommerce.productservice.infrastructure.adapter.kafka.ProductChangeFeed}; the entity exists so the
+ * schema is managed like every other table.
+ */
+@Getter
+@Setter
+@Entity(name = "product_change_outbox")
+public class ProductChangeOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+}
@@ -3,6 +3,8 @@ package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -41,9 +43,34 @@ public class ProductEntity {
 
     private Integer inventory;
 
+    /**
+     * Units held by active reservations, maintained incrementally by the reservation ledger. The available stock is
+     * {@code inventory - reserved}. Never written through the entity.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer reserved;
+
+    /**
+     * Whether the inventory is split across {@link ProductStockShardEntity} rows. While set, {@code inventory} is
+     * not authoritative. Only the inventory sharding operations change it, never an entity update.
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private boolean stockSharded;
+
     private String image;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    /**
+     * Loaded lazily, and for up to 100 products at once when the first one is accessed, so multi-product reads cost
+     * one categories query instead of one per product. The index on {@code (categories, products_id)} serves the
+     * category browse query in ID order.
+     */
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "products_categories", joinColumns = @JoinColumn(name = "products_id"),
+            indexes = @Index(name = "idx_products_categories_category", columnList = "categories, products_id"))
+    @Column(name = "categories")
     private Set<String> categories;
 
     /**
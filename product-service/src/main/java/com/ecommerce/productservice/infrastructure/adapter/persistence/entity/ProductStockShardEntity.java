@@ -0,0 +1,34 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One sub-counter of the inventory of a sharded product.
+ * <p>
+ * Products flagged with {@code stockSharded} keep their stock split across these rows so that concurrent
+ * reservations lock different rows instead of queueing on the product row. The available inventory is the sum of
+ * the shards. Rows are read and written with plain JDBC by
+ * {@link com.ecommerce.productservice.infrastructure.adapter.persistence.repository.InventoryShardStore}; the entity
+ * exists so the schema is managed like every other table.
+ */
+@Getter
+@Setter
+@Entity(name = "product_stock_shards")
+@Table(indexes = @Index(name = "uk_product_stock_shards_product_shard", columnList = "productId, shardNo", unique = true))
+public class ProductStockShardEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer shardNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
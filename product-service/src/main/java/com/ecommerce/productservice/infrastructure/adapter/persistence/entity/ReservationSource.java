@@ -0,0 +1,11 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+/**
+ * Where the stock of a reservation is held.
+ */
+public enum ReservationSource {
+    /** Counted in {@code products.reserved}, still part of the on-hand {@code inventory}. */
+    ROW,
+    /** Taken from the inventory shards of a sharded product at reservation time. */
+    SHARDS
+}
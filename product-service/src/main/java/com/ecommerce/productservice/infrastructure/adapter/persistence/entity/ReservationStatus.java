@@ -0,0 +1,17 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.entity;
+
+/**
+ * Lifecycle of an inventory reservation.
+ */
+public enum ReservationStatus {
+    /** Stock is held for the order until the reservation expires. */
+    ACTIVE,
+    /** Payment succeeded, the held stock left the on-hand inventory. */
+    COMMITTED,
+    /** The order was cancelled and the stock was returned. */
+    RELEASED,
+    /** The hold was abandoned and returned by the expiry job. */
+    EXPIRED,
+    /** The order could not be covered; no stock was taken. Validation may be retried. */
+    REJECTED
+}
@@ -4,11 +4,15 @@ import com.ecommerce.productservice.domain.model.Product;
 import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class ProductEntityMapper {
 
     /**
      * Converts a {@link ProductEntity} to a {@link Product} domain model.
+     * The domain inventory is the available stock: on-hand minus units held by active reservations.
+     * Categories are copied, which loads them if needed, so the domain model never holds a lazy Hibernate collection.
      *
      * @param entity the JPA entity
      * @return the product domain model
@@ -19,9 +23,9 @@ public class ProductEntityMapper {
                 entity.getName(),
                 entity.getDescription(),
                 entity.getPrice(),
-                entity.getInventory(),
+                availableInventory(entity),
                 entity.getImage(),
-                entity.getCategories(),
+                entity.getCategories() != null ? Set.copyOf(entity.getCategories()) : null,
                 entity.getAdditionalData(),
                 entity.getCreatedAt(),
                 entity.getUpdatedAt(),
@@ -51,4 +55,10 @@ public class ProductEntityMapper {
         return entity;
     }
 
-}
\ No newline at end of file
+    private static Integer availableInventory(ProductEntity entity) {
+        if (entity.getInventory() == null || entity.getReserved() == null) {
+            return entity.getInventory();
+        }
+        return entity.getInventory() - entity.getReserved();
+    }
+}
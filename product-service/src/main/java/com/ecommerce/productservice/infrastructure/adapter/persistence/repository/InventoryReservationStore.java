@@ -0,0 +1,464 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.InventoryReservationEntity;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ReservationSource;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to the inventory reservation ledger ({@link InventoryReservationEntity}).
+ * <p>
+ * A hold adds the requested quantity to {@code products.reserved} with a guard on the available stock
+ * ({@code inventory - reserved}), so the on-hand inventory only changes once payment succeeds. Sharded products
+ * have their stock taken from the shards right away. Every hold is recorded per (order, product) with an expiry;
+ * holds that are neither committed nor released in time are returned by {@link #expire}, so a lost CANCEL no
+ * longer leaks stock.
+ * <p>
+ * All statements touching product rows run in product ID order to keep lock order stable, and all of them increment
+ * the product version, so a concurrent entity update fails its optimistic lock instead of overwriting the stock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReservationStore {
+
+    private static final String HOLD_ROW_SQL = """
+            UPDATE products SET reserved = reserved + ?, version = version + 1, updated_at = LOCALTIMESTAMP
+            WHERE id = ? AND inventory - reserved >= ? AND NOT stock_sharded
+            """;
+    private static final String TAKE_ROW_SQL = """
+            UPDATE products SET inventory = inventory - ?, version = version + 1, updated_at = LOCALTIMESTAMP
+            WHERE id = ? AND inventory - reserved >= ? AND NOT stock_sharded
+            """;
+    private static final String COMMIT_ROW_SQL = """
+            UPDATE products SET inventory = inventory - ?, reserved = reserved - ?, version = version + 1,
+                                updated_at = LOCALTIMESTAMP
+            WHERE id = ?
+            """;
+    private static final String UNHOLD_ROW_SQL = """
+            UPDATE products SET reserved = reserved - ?, version = version + 1, updated_at = LOCALTIMESTAMP
+            WHERE id = ? AND NOT stock_sharded
+            """;
+    private static final String UNHOLD_SHARDED_ROW_SQL = """
+            UPDATE products SET reserved = reserved - ?, inventory = inventory - ?, version = version + 1,
+                                updated_at = LOCALTIMESTAMP
+            WHERE id = ?
+            """;
+    private static final String RESTOCK_ROW_SQL = """
+            UPDATE products SET inventory = inventory + ?, version = version + 1, updated_at = LOCALTIMESTAMP
+            WHERE id = ? AND NOT stock_sharded
+            """;
+    private static final String INSERT_SQL = """
+            INSERT INTO inventory_reservations
+                (order_id, product_id, quantity, source, status, expires_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            """;
+    private static final String SET_STATUS_SQL = """
+            UPDATE inventory_reservations SET status = ?, updated_at = LOCALTIMESTAMP
+            WHERE order_id = ? AND product_id = ?
+            """;
+    private static final RowMapper<Hold> HOLD_ROW_MAPPER = (rs, rowNum) -> new Hold(
+            rs.getObject("order_id", UUID.class),
+            rs.getLong("product_id"),
+            rs.getInt("quantity"),
+            ReservationSource.valueOf(rs.getString("source")),
+            ReservationStatus.valueOf(rs.getString("status")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryShardStore shardStore;
+
+    /**
+     * Holds stock for every line of an order. Idempotent, at the cost of one lookup by order ID: an order that
+     * already holds or consumed its stock, or that was cancelled, is left untouched; an order whose holds expired or
+     * that was rejected is held again (retried validation).
+     * <p>
+     * A rejection is recorded as {@link ReservationStatus#REJECTED} lines, with every stock update undone, so that
+     * the CANCEL which follows a failed validation does not return stock that was never taken.
+     *
+     * @param lines     requested quantity per product, sorted by product ID
+     * @param expiresAt when the holds are returned unless committed
+     * @return IDs of the products that are unknown or short of stock; no stock is held in that case
+     */
+    @Transactional
+    public List<Long> hold(UUID orderId, List<Map.Entry<Long, Integer>> lines, LocalDateTime expiresAt) {
+        List<Hold> existing = lockHolds(orderId);
+        if (existing.stream().anyMatch(hold -> hold.status() == ReservationStatus.ACTIVE
+                || hold.status() == ReservationStatus.COMMITTED)) {
+            log.debug("Order {} already holds its stock", orderId);
+            return List.of();
+        }
+        if (existing.stream().anyMatch(hold -> hold.status() == ReservationStatus.RELEASED)) {
+            log.info("Order {} was cancelled, its stock is not held again", orderId);
+            return List.of();
+        }
+
+        int[][] counts = batch(HOLD_ROW_SQL, lines, (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+        Set<Long> shardedIds = new HashSet<>(unmatched(lines, counts));
+        if (!shardedIds.isEmpty()) {
+            List<Long> rejected = shardStore.reserve(lines.stream().filter(line -> shardedIds.contains(line.getKey())).toList());
+            if (!rejected.isEmpty()) {
+                unhold(lines, shardedIds, rejected);
+                record(orderId, lines, Set.of(), ReservationStatus.REJECTED, expiresAt, !existing.isEmpty());
+                return rejected;
+            }
+        }
+        record(orderId, lines, shardedIds, ReservationStatus.ACTIVE, expiresAt, !existing.isEmpty());
+        return List.of();
+    }
+
+    /**
+     * Undoes the stock updates of a rejected hold with compensating updates rather than a savepoint, which the JPA
+     * transaction manager does not support: the caller's transaction goes on to record the rejection and commit.
+     */
+    private void unhold(List<Map.Entry<Long, Integer>> lines, Set<Long> shardedIds, List<Long> rejected) {
+        Set<Long> rejectedIds = Set.copyOf(rejected);
+        batch(UNHOLD_ROW_SQL, lines.stream().filter(line -> !shardedIds.contains(line.getKey())).toList(),
+                (ps, line) -> {
+                    ps.setInt(1, line.getValue());
+                    ps.setLong(2, line.getKey());
+                });
+        List<Map.Entry<Long, Integer>> takenFromShards = lines.stream()
+                .filter(line -> shardedIds.contains(line.getKey()) && !rejectedIds.contains(line.getKey()))
+                .toList();
+        if (!takenFromShards.isEmpty()) {
+            shardStore.release(takenFromShards);
+        }
+    }
+
+    /**
+     * Records the lines of an order whose stock was returned without ledger entries (reserved before the ledger
+     * existed), so that a redelivered CANCEL finds them released and does nothing.
+     */
+    @Transactional
+    public void recordReleased(UUID orderId, List<Map.Entry<Long, Integer>> lines) {
+        record(orderId, lines, Set.of(), ReservationStatus.RELEASED, LocalDateTime.now(), false);
+    }
+
+    private void record(UUID orderId, List<Map.Entry<Long, Integer>> lines, Set<Long> shardedIds,
+                        ReservationStatus status, LocalDateTime expiresAt, boolean replace) {
+        if (replace) {
+            jdbcTemplate.update("DELETE FROM inventory_reservations WHERE order_id = ?", orderId);
+        }
+        Timestamp expiry = Timestamp.valueOf(expiresAt);
+        batch(INSERT_SQL, lines, (ps, line) -> {
+            ps.setObject(1, orderId);
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+            ps.setString(4, (shardedIds.contains(line.getKey()) ? ReservationSource.SHARDS : ReservationSource.ROW).name());
+            ps.setString(5, status.name());
+            ps.setTimestamp(6, expiry);
+        });
+    }
+
+    /**
+     * Holds stock for several orders at once: quantities are summed per product so each product row (or its
+     * shards) is updated once for the whole batch, then every line is recorded in the ledger.
+     *
+     * @param linesByOrder requested quantity per product, per order
+     * @param expiresAt    when the holds are returned unless committed
+     * @return IDs of the products that are unknown or cannot cover the summed quantity; nothing is recorded in that
+     * case and the caller must roll back the transaction
+     */
+    @Transactional
+    public List<Long> holdAll(Map<UUID, List<Map.Entry<Long, Integer>>> linesByOrder, LocalDateTime expiresAt) {
+        List<Map.Entry<Long, Integer>> lines = linesByOrder.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum, TreeMap::new))
+                .entrySet().stream()
+                .toList();
+
+        int[][] counts = batch(HOLD_ROW_SQL, lines, (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+        Set<Long> shardedIds = new HashSet<>(unmatched(lines, counts));
+        if (!shardedIds.isEmpty()) {
+            List<Long> rejected = shardStore.reserve(lines.stream().filter(line -> shardedIds.contains(line.getKey())).toList());
+            if (!rejected.isEmpty()) {
+                return rejected;
+            }
+        }
+
+        List<Hold> holds = linesByOrder.entrySet().stream()
+                .flatMap(order -> order.getValue().stream().map(line -> new Hold(order.getKey(), line.getKey(),
+                        line.getValue(), shardedIds.contains(line.getKey()) ? ReservationSource.SHARDS : ReservationSource.ROW,
+                        ReservationStatus.ACTIVE)))
+                .toList();
+        Timestamp expiry = Timestamp.valueOf(expiresAt);
+        batch(INSERT_SQL, holds, (ps, hold) -> {
+            ps.setObject(1, hold.orderId());
+            ps.setLong(2, hold.productId());
+            ps.setInt(3, hold.quantity());
+            ps.setString(4, hold.source().name());
+            ps.setString(5, hold.status().name());
+            ps.setTimestamp(6, expiry);
+        });
+        return List.of();
+    }
+
+    /**
+     * Locks the ledger entries of the given orders.
+     *
+     * @return IDs of the orders that have reservations recorded, whatever their status
+     */
+    @Transactional
+    public Set<UUID> lockOrders(Collection<UUID> orderIds) {
+        return lockHolds(orderIds).stream().map(Hold::orderId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Turns the holds of a paid order into a definitive stock decrement. Holds that already expired are taken
+     * again from the available stock; if that is no longer possible the shortfall is logged, since the order
+     * is paid and cannot be rejected anymore.
+     *
+     * @return IDs of the products whose stock changed
+     */
+    @Transactional
+    public List<Long> commit(UUID orderId) {
+        List<Hold> holds = lockHolds(orderId);
+        List<Hold> active = holds.stream().filter(hold -> hold.status() == ReservationStatus.ACTIVE).toList();
+        List<Hold> expired = holds.stream().filter(hold -> hold.status() == ReservationStatus.EXPIRED).toList();
+
+        List<Hold> activeRow = active.stream().filter(hold -> hold.source() == ReservationSource.ROW).toList();
+        batch(COMMIT_ROW_SQL, activeRow, (ps, hold) -> {
+            ps.setInt(1, hold.quantity());
+            ps.setInt(2, hold.quantity());
+            ps.setLong(3, hold.productId());
+        });
+
+        if (!expired.isEmpty()) {
+            List<Long> shortfall = takeAgain(expired);
+            if (!shortfall.isEmpty()) {
+                log.error("Order {} was paid after its reservation expired; products {} are oversold", orderId, shortfall);
+            }
+        }
+
+        List<Hold> committed = new ArrayList<>(active);
+        committed.addAll(expired);
+        setStatus(committed, ReservationStatus.COMMITTED);
+        return productIds(committed);
+    }
+
+    /**
+     * Returns the stock held or consumed by a cancelled order and marks all its lines released, so a redelivered
+     * CANCEL or ORDER_CREATED leaves the stock untouched.
+     *
+     * @return IDs of the products reserved by the order, empty if the order has no ledger entries (orders reserved
+     * before the ledger existed have none)
+     */
+    @Transactional
+    public List<Long> release(UUID orderId) {
+        List<Hold> holds = lockHolds(orderId);
+        List<Hold> returned = holds.stream()
+                .filter(hold -> hold.status() == ReservationStatus.ACTIVE || hold.status() == ReservationStatus.COMMITTED)
+                .toList();
+        returnStock(returned);
+        setStatus(unreleased(holds), ReservationStatus.RELEASED);
+        return productIds(holds);
+    }
+
+    /**
+     * Returns the stock held or consumed by several cancelled orders. Holds of the same product and kind are
+     * merged, so each product row (or its shards) is updated once for the whole batch.
+     *
+     * @return IDs of the products reserved by the orders, one entry per ledger line
+     */
+    @Transactional
+    public List<Long> releaseAll(Collection<UUID> orderIds) {
+        List<Hold> holds = lockHolds(orderIds);
+        List<Hold> returned = holds.stream()
+                .filter(hold -> hold.status() == ReservationStatus.ACTIVE || hold.status() == ReservationStatus.COMMITTED)
+                .toList();
+        returnStock(merged(returned));
+        setStatus(unreleased(holds), ReservationStatus.RELEASED);
+        return productIds(holds);
+    }
+
+    /**
+     * Returns one batch of abandoned holds, skipping holds locked by a concurrent commit or release.
+     *
+     * @return product ID of every expired line, one entry per line
+     */
+    @Transactional
+    public List<Long> expire(LocalDateTime now, int batchSize) {
+        List<Hold> holds = jdbcTemplate.query("""
+                        SELECT order_id, product_id, quantity, source, status FROM inventory_reservations
+                        WHERE status = 'ACTIVE' AND expires_at < ?
+                        ORDER BY expires_at LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                        """,
+                HOLD_ROW_MAPPER, Timestamp.valueOf(now), batchSize);
+        returnStock(holds);
+        setStatus(holds, ReservationStatus.EXPIRED);
+        return productIds(holds);
+    }
+
+    private List<Hold> lockHolds(UUID orderId) {
+        return jdbcTemplate.query("""
+                        SELECT order_id, product_id, quantity, source, status FROM inventory_reservations
+                        WHERE order_id = ? ORDER BY product_id FOR UPDATE
+                        """,
+                HOLD_ROW_MAPPER, orderId);
+    }
+
+    private List<Hold> lockHolds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                        SELECT order_id, product_id, quantity, source, status FROM inventory_reservations
+                        WHERE order_id = ANY (?) ORDER BY order_id, product_id FOR UPDATE
+                        """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", orderIds.toArray())),
+                HOLD_ROW_MAPPER);
+    }
+
+    /**
+     * Sums the quantities of holds that {@link #returnStock} treats the same way (same product, source and
+     * active or not). The merged holds carry no order ID.
+     */
+    private static List<Hold> merged(List<Hold> holds) {
+        record Key(long productId, ReservationSource source, boolean active) {
+        }
+        Map<Key, Integer> quantities = new LinkedHashMap<>();
+        Map<Key, ReservationStatus> statuses = new HashMap<>();
+        for (Hold hold : holds) {
+            Key key = new Key(hold.productId(), hold.source(), hold.status() == ReservationStatus.ACTIVE);
+            quantities.merge(key, hold.quantity(), Integer::sum);
+            statuses.putIfAbsent(key, hold.status());
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> new Hold(null, entry.getKey().productId(), entry.getValue(), entry.getKey().source(),
+                        statuses.get(entry.getKey())))
+                .toList();
+    }
+
+    /**
+     * Puts the stock of holds back: active row holds only drop their share of {@code reserved}, everything else
+     * already left the on-hand stock and is added back to the product row or its shards.
+     */
+    private void returnStock(List<Hold> holds) {
+        List<Hold> sorted = holds.stream().sorted(Comparator.comparingLong(Hold::productId)).toList();
+        List<Hold> rowHolds = sorted.stream()
+                .filter(hold -> hold.status() == ReservationStatus.ACTIVE && hold.source() == ReservationSource.ROW)
+                .toList();
+        List<Hold> consumed = new ArrayList<>(sorted.stream()
+                .filter(hold -> hold.status() != ReservationStatus.ACTIVE || hold.source() != ReservationSource.ROW)
+                .toList());
+
+        int[][] counts = batch(UNHOLD_ROW_SQL, rowHolds, (ps, hold) -> {
+            ps.setInt(1, hold.quantity());
+            ps.setLong(2, hold.productId());
+        });
+        // Products sharded since the hold: the held units sit in the row, move them to the shards
+        List<Hold> nowSharded = unmatchedHolds(rowHolds, counts);
+        batch(UNHOLD_SHARDED_ROW_SQL, nowSharded, (ps, hold) -> {
+            ps.setInt(1, hold.quantity());
+            ps.setInt(2, hold.quantity());
+            ps.setLong(3, hold.productId());
+        });
+        consumed.addAll(nowSharded);
+        consumed.sort(Comparator.comparingLong(Hold::productId));
+
+        counts = batch(RESTOCK_ROW_SQL, consumed, (ps, hold) -> {
+            ps.setInt(1, hold.quantity());
+            ps.setLong(2, hold.productId());
+        });
+        List<Hold> toShards = unmatchedHolds(consumed, counts);
+        if (!toShards.isEmpty()) {
+            List<Long> missing = shardStore.release(toShards.stream()
+                    .map(hold -> Map.entry(hold.productId(), hold.quantity()))
+                    .toList());
+            if (!missing.isEmpty()) {
+                log.warn("Products {} no longer exist, their reserved stock was dropped", missing);
+            }
+        }
+    }
+
+    /**
+     * Takes the stock of expired holds again, from the product row or its shards.
+     *
+     * @return IDs of the products without enough available stock
+     */
+    private List<Long> takeAgain(List<Hold> holds) {
+        List<Map.Entry<Long, Integer>> lines = holds.stream()
+                .map(hold -> Map.entry(hold.productId(), hold.quantity()))
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        int[][] counts = batch(TAKE_ROW_SQL, lines, (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+        Set<Long> misses = new HashSet<>(unmatched(lines, counts));
+        return misses.isEmpty() ? List.of()
+                : shardStore.reserve(lines.stream().filter(line -> misses.contains(line.getKey())).toList());
+    }
+
+    private <T> int[][] batch(String sql, List<T> args, ParameterizedPreparedStatementSetter<T> setter) {
+        return args.isEmpty() ? new int[0][] : jdbcTemplate.batchUpdate(sql, args, args.size(), setter);
+    }
+
+    private void setStatus(List<Hold> holds, ReservationStatus status) {
+        batch(SET_STATUS_SQL, holds, (ps, hold) -> {
+            ps.setString(1, status.name());
+            ps.setObject(2, hold.orderId());
+            ps.setLong(3, hold.productId());
+        });
+    }
+
+    private static List<Hold> unreleased(List<Hold> holds) {
+        return holds.stream().filter(hold -> hold.status() != ReservationStatus.RELEASED).toList();
+    }
+
+    private static List<Long> productIds(List<Hold> holds) {
+        return holds.stream().map(Hold::productId).toList();
+    }
+
+    private static List<Long> unmatched(List<Map.Entry<Long, Integer>> lines, int[][] counts) {
+        List<Long> unmatched = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 1) {
+                    unmatched.add(lines.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return unmatched;
+    }
+
+    private static List<Hold> unmatchedHolds(List<Hold> holds, int[][] counts) {
+        List<Hold> unmatched = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 1) {
+                    unmatched.add(holds.get(index));
+                }
+                index++;
+            }
+        }
+        return unmatched;
+    }
+
+    private record Hold(UUID orderId, long productId, int quantity, ReservationSource source, ReservationStatus status) {
+    }
+}
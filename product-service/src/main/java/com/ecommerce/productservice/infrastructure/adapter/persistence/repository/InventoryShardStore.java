@@ -0,0 +1,268 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductStockShardEntity;
+import com.ecommerce.shared.domain.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * JDBC access to the inventory sub-counters of sharded products ({@link ProductStockShardEntity}).
+ * <p>
+ * A reservation decrements one random shard that holds enough stock, skipping shards locked by concurrent
+ * reservations, so up to N orders for the same product proceed in parallel. When no single shard can satisfy the
+ * request (stock fragmented across shards), all shards of the product are locked in shard order and drained in
+ * turn. The background rebalancer evens out the shards so that fallback stays rare.
+ * <p>
+ * The products of an order are reserved one after the other in product ID order, each one completely (fallback
+ * included) before any shard of the next one is locked. A transaction blocked in the fallback therefore only waits
+ * for products it has not locked yet, and two orders sharing sharded products cannot deadlock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryShardStore {
+
+    private static final String RESERVE_RANDOM_SHARD_SQL = """
+            UPDATE product_stock_shards SET quantity = quantity - ?
+            WHERE id = (SELECT s.id FROM product_stock_shards s
+                        WHERE s.product_id = ? AND s.quantity >= ?
+                        ORDER BY random() LIMIT 1
+                        FOR UPDATE SKIP LOCKED)
+            """;
+    private static final String RELEASE_TO_SMALLEST_SHARD_SQL = """
+            UPDATE product_stock_shards SET quantity = quantity + ?
+            WHERE id = (SELECT s.id FROM product_stock_shards s
+                        WHERE s.product_id = ?
+                        ORDER BY s.quantity, s.shard_no LIMIT 1)
+            """;
+    private static final String LOCK_SHARDS_SQL = """
+            SELECT id, quantity FROM product_stock_shards
+            WHERE product_id = ? ORDER BY shard_no FOR UPDATE
+            """;
+    private static final String LOCK_FREE_SHARDS_SQL = """
+            SELECT id, quantity FROM product_stock_shards
+            WHERE product_id = ? ORDER BY shard_no FOR UPDATE SKIP LOCKED
+            """;
+    private static final RowMapper<Shard> SHARD_ROW_MAPPER =
+            (rs, rowNum) -> new Shard(rs.getLong("id"), rs.getInt("quantity"));
+    private static final String SET_SHARD_QUANTITY_SQL = "UPDATE product_stock_shards SET quantity = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Reserves stock from the shards of the given products. The lines are not batched: a product's fallback must
+     * run before the next product's shard is locked (see the class comment).
+     *
+     * @param quantities requested quantity per product, sorted by product ID
+     * @return IDs of the products that are not sharded or do not have enough stock in total
+     */
+    @Transactional
+    public List<Long> reserve(List<Map.Entry<Long, Integer>> quantities) {
+        List<Long> rejected = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : quantities) {
+            int count = jdbcTemplate.update(RESERVE_RANDOM_SHARD_SQL, line.getValue(), line.getKey(), line.getValue());
+            if (count != 1 && !reserveAcrossShards(line.getKey(), line.getValue())) {
+                rejected.add(line.getKey());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Returns stock to the emptiest shard of each product.
+     *
+     * @return IDs of the products that are not sharded
+     */
+    @Transactional
+    public List<Long> release(List<Map.Entry<Long, Integer>> quantities) {
+        int[][] counts = jdbcTemplate.batchUpdate(RELEASE_TO_SMALLEST_SHARD_SQL, quantities, quantities.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+        });
+        List<Long> unmatched = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Long productId = quantities.get(index++).getKey();
+                if (count != 1) {
+                    unmatched.add(productId);
+                }
+            }
+        }
+        return unmatched;
+    }
+
+    /**
+     * Sum of the shards of each product; products without shards are absent from the result.
+     */
+    public Map<Long, Integer> totals(Collection<Long> productIds) {
+        Map<Long, Integer> totals = HashMap.newHashMap(productIds.size());
+        namedJdbcTemplate.query("""
+                        SELECT product_id, SUM(quantity) AS total FROM product_stock_shards
+                        WHERE product_id IN (:ids) GROUP BY product_id
+                        """,
+                new MapSqlParameterSource("ids", productIds),
+                (RowCallbackHandler) rs -> totals.put(rs.getLong("product_id"), rs.getInt("total")));
+        return totals;
+    }
+
+    public boolean isSharded(Long productId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM product_stock_shards WHERE product_id = ?)", Boolean.class, productId));
+    }
+
+    public List<Long> shardedProductIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT product_id FROM product_stock_shards", Long.class);
+    }
+
+    /**
+     * Splits the available inventory of a product evenly across {@code shards} sub-counters. A product that is
+     * already sharded is re-split with its current total. Units held by active reservations stay in the
+     * {@code inventory} column until those reservations are committed or released.
+     */
+    @Transactional
+    public void shard(Long productId, int shards) {
+        ProductStock stock = lockProduct(productId);
+        int total = stock.stockSharded() ? drainShards(productId) : stock.inventory() - stock.reserved();
+        List<Object[]> rows = new ArrayList<>(shards);
+        int[] split = split(total, shards);
+        for (int shardNo = 0; shardNo < shards; shardNo++) {
+            rows.add(new Object[]{productId, shardNo, split[shardNo]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_stock_shards (product_id, shard_no, quantity) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("""
+                UPDATE products SET stock_sharded = TRUE, inventory = reserved, version = version + 1,
+                                    updated_at = LOCALTIMESTAMP
+                WHERE id = ?
+                """, productId);
+        log.info("Split inventory of product {} ({} units) across {} shards", productId, total, shards);
+    }
+
+    /**
+     * Adds the shards of a product back to its {@code inventory} column.
+     */
+    @Transactional
+    public void unshard(Long productId) {
+        if (!lockProduct(productId).stockSharded()) {
+            return;
+        }
+        int total = drainShards(productId);
+        jdbcTemplate.update("""
+                UPDATE products SET stock_sharded = FALSE, inventory = inventory + ?, version = version + 1,
+                                    updated_at = LOCALTIMESTAMP
+                WHERE id = ?
+                """, total, productId);
+        log.info("Merged {} sharded units back into product {}", total, productId);
+    }
+
+    public void deleteShards(Long productId) {
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+    }
+
+    /**
+     * Replaces the total stock of a sharded product, e.g. after an inventory edit through the product API.
+     */
+    @Transactional
+    public void redistribute(Long productId, int total) {
+        List<Shard> shards = jdbcTemplate.query(LOCK_SHARDS_SQL, SHARD_ROW_MAPPER, productId);
+        setQuantities(shards, split(total, shards.size()));
+    }
+
+    /**
+     * Evens out the shards of a product that are not locked by in-flight reservations. Moving stock only between
+     * the locked shards keeps the total unchanged and never blocks a reservation.
+     *
+     * @param threshold rebalance when a shard holds less than this fraction of its fair share
+     * @return whether stock was moved
+     */
+    @Transactional
+    public boolean rebalance(Long productId, double threshold) {
+        List<Shard> shards = jdbcTemplate.query(LOCK_FREE_SHARDS_SQL, SHARD_ROW_MAPPER, productId);
+        if (shards.size() < 2) {
+            return false;
+        }
+        int total = shards.stream().mapToInt(Shard::quantity).sum();
+        int min = shards.stream().mapToInt(Shard::quantity).min().orElse(0);
+        if (total < shards.size() || min >= threshold * total / shards.size()) {
+            return false;
+        }
+        setQuantities(shards, split(total, shards.size()));
+        return true;
+    }
+
+    private ProductStock lockProduct(Long productId) {
+        return jdbcTemplate.query("SELECT inventory, reserved, stock_sharded FROM products WHERE id = ? FOR UPDATE",
+                        (rs, rowNum) -> new ProductStock(rs.getInt("inventory"), rs.getInt("reserved"),
+                                rs.getBoolean("stock_sharded")), productId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Product", productId.toString()));
+    }
+
+    /**
+     * Locks and deletes the shards of a product, returning their total.
+     */
+    private int drainShards(Long productId) {
+        int total = jdbcTemplate.query(LOCK_SHARDS_SQL, (rs, rowNum) -> rs.getInt("quantity"), productId)
+                .stream().mapToInt(Integer::intValue).sum();
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+        return total;
+    }
+
+    /**
+     * Fallback when no single shard holds the requested quantity: locks every shard in shard order and takes the
+     * quantity from as many shards as needed.
+     */
+    private boolean reserveAcrossShards(Long productId, int quantity) {
+        List<Shard> shards = jdbcTemplate.query(LOCK_SHARDS_SQL, SHARD_ROW_MAPPER, productId);
+        if (shards.isEmpty() || shards.stream().mapToInt(Shard::quantity).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        List<Object[]> updates = new ArrayList<>();
+        for (Shard shard : shards) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(shard.quantity(), remaining);
+            if (taken > 0) {
+                updates.add(new Object[]{shard.quantity() - taken, shard.id()});
+                remaining -= taken;
+            }
+        }
+        jdbcTemplate.batchUpdate(SET_SHARD_QUANTITY_SQL, updates);
+        return true;
+    }
+
+    private void setQuantities(List<Shard> shards, int[] quantities) {
+        List<Object[]> updates = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            updates.add(new Object[]{quantities[i], shards.get(i).id()});
+        }
+        jdbcTemplate.batchUpdate(SET_SHARD_QUANTITY_SQL, updates);
+    }
+
+    private static int[] split(int total, int shards) {
+        int[] split = new int[shards];
+        for (int i = 0; i < shards; i++) {
+            split[i] = total / shards + (i < total % shards ? 1 : 0);
+        }
+        return split;
+    }
+
+    private record Shard(long id, int quantity) {
+    }
+
+    private record ProductStock(int inventory, int reserved, boolean stockSharded) {
+    }
+}
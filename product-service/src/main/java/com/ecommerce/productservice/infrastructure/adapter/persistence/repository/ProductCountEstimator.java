@@ -0,0 +1,57 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * Estimates product counts from PostgreSQL planner statistics instead of running {@code COUNT(*)}, whose cost grows
+ * with the number of matching rows. Estimates are as fresh as the last {@code ANALYZE} (autovacuum keeps them
+ * current) and may be off by a few percent; they are meant for "about N results" displays, not for arithmetic.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCountEstimator {
+
+    private static final String TABLE_ESTIMATE_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = 'products'::regclass";
+    private static final String ATTRIBUTES_PLAN_SQL =
+            "EXPLAIN (FORMAT JSON) SELECT 1 FROM products p WHERE p.additional_data @> CAST(? AS jsonb)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return the estimated number of products, empty if the table was never analyzed or statistics are unavailable
+     */
+    public OptionalLong estimateAll() {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(TABLE_ESTIMATE_SQL, Long.class);
+            return estimate != null && estimate >= 0 ? OptionalLong.of(estimate) : OptionalLong.empty();
+        } catch (Exception e) {
+            log.debug("Product count estimate unavailable: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * @param filter JSON object the additional data must contain
+     * @return the planner's row estimate for the filter, empty if it could not be obtained
+     */
+    public OptionalLong estimateByAttributes(String filter) {
+        try {
+            String plan = jdbcTemplate.queryForObject(ATTRIBUTES_PLAN_SQL, String.class, filter);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (Exception e) {
+            log.debug("Product count estimate unavailable for filter {}: {}", filter, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.productservice.domain.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Upserts products by name through a staging table: the rows are written with one JDBC batch into a temporary
+ * table, then merged into {@code products} and {@code products_categories} with set-based statements, so a chunk
+ * of N products costs a constant number of round trips. Must be called within a transaction (the staging table
+ * is dropped at the end of each call, or on commit).
+ * <p>
+ * The imported inventory is the available stock, as for a regular update: units held by active reservations are
+ * added on top. The inventory of sharded products is left unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductImportStore {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMPORARY TABLE IF NOT EXISTS product_import_staging (
+                name            varchar(255) PRIMARY KEY,
+                description     varchar(255),
+                price           numeric(38, 2) NOT NULL,
+                inventory       integer NOT NULL,
+                image           varchar(255),
+                categories      text[] NOT NULL,
+                additional_data jsonb
+            ) ON COMMIT DROP
+            """;
+    private static final String DROP_STAGING_SQL = "DROP TABLE product_import_staging";
+    private static final String STAGE_SQL = """
+            INSERT INTO product_import_staging (name, description, price, inventory, image, categories, additional_data)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb))
+            """;
+    private static final String UPSERT_PRODUCTS_SQL = """
+            INSERT INTO products (name, description, price, inventory, image, additional_data, stock_sharded,
+                                  created_at, updated_at, version)
+            SELECT name, description, price, inventory, image, additional_data, FALSE,
+                   LOCALTIMESTAMP, LOCALTIMESTAMP, 0
+            FROM product_import_staging
+            ON CONFLICT (name) DO UPDATE SET
+                description = EXCLUDED.description,
+                price = EXCLUDED.price,
+                inventory = CASE WHEN products.stock_sharded THEN products.inventory
+                                 ELSE EXCLUDED.inventory + products.reserved END,
+                image = EXCLUDED.image,
+                additional_data = EXCLUDED.additional_data,
+                updated_at = LOCALTIMESTAMP,
+                version = products.version + 1
+            RETURNING id
+            """;
+    private static final String DELETE_CATEGORIES_SQL = """
+            DELETE FROM products_categories c
+            USING product_import_staging s JOIN products p ON p.name = s.name
+            WHERE c.products_id = p.id
+            """;
+    private static final String INSERT_CATEGORIES_SQL = """
+            INSERT INTO products_categories (products_id, categories)
+            SELECT DISTINCT p.id, category
+            FROM product_import_staging s
+            JOIN products p ON p.name = s.name
+            CROSS JOIN LATERAL unnest(s.categories) AS category
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates or updates the given products, matched by name. Names must be unique within the list.
+     *
+     * @return the IDs of the created and updated products
+     */
+    public List<Long> upsert(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.batchUpdate(STAGE_SQL, products, products.size(), (ps, product) -> {
+            ps.setString(1, product.name());
+            ps.setString(2, product.description());
+            ps.setBigDecimal(3, product.price());
+            ps.setInt(4, product.inventory());
+            ps.setString(5, product.image());
+            ps.setArray(6, ps.getConnection().createArrayOf("text", product.categories().toArray()));
+            if (product.additionalData() != null) {
+                ps.setString(7, toJson(product));
+            } else {
+                ps.setNull(7, Types.VARCHAR);
+            }
+        });
+        List<Long> ids = jdbcTemplate.queryForList(UPSERT_PRODUCTS_SQL, Long.class);
+        jdbcTemplate.update(DELETE_CATEGORIES_SQL);
+        jdbcTemplate.update(INSERT_CATEGORIES_SQL);
+        jdbcTemplate.execute(DROP_STAGING_SQL);
+        return ids;
+    }
+
+    private String toJson(Product product) {
+        try {
+            return objectMapper.writeValueAsString(product.additionalData());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("additionalData is not serializable for product " + product.name(), e);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
 
 import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +21,93 @@ import java.util.Optional;
 @Repository
 public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long> {
 
-    @Query(value = "SELECT * FROM products p WHERE p.additional_data ->> 'color' = :color", nativeQuery = true)
+    /**
+     * Loads a product with its row locked ({@code SELECT ... FOR UPDATE}) until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM products p WHERE p.id = :id")
+    Optional<ProductEntity> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Containment ({@code @>}) rather than {@code ->>} so the GIN index on {@code additional_data} is used.
+     */
+    @Query(value = "SELECT * FROM products p WHERE p.additional_data @> jsonb_build_object('color', :color)",
+            countQuery = "SELECT count(*) FROM products p WHERE p.additional_data @> jsonb_build_object('color', :color)",
+            nativeQuery = true)
     Page<ProductEntity> findByColor(@Param("color") String color, Pageable pageable);
 
+    /**
+     * Returns up to {@code limit} products, by ascending ID after {@code afterId}, whose {@code additional_data}
+     * contains every key/value pair of {@code filter} (a JSON object).
+     */
+    @Query(value = """
+            SELECT * FROM products p
+            WHERE p.additional_data @> CAST(:filter AS jsonb) AND p.id > :afterId
+            ORDER BY p.id
+            LIMIT :limit""", nativeQuery = true)
+    List<ProductEntity> findByAttributes(@Param("filter") String filter, @Param("afterId") long afterId,
+                                         @Param("limit") int limit);
+
+    /**
+     * Returns up to {@code limit} products by ascending ID after {@code afterId} (keyset pagination on the
+     * primary key: the cost of a page does not depend on its depth).
+     */
+    @Query(value = "SELECT * FROM products p WHERE p.id > :afterId ORDER BY p.id LIMIT :limit", nativeQuery = true)
+    List<ProductEntity> findAllAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Returns up to {@code limit} products of a category by ascending ID after {@code afterId}, using the
+     * {@code (categories, products_id)} index of the collection table.
+     */
+    @Query(value = """
+            SELECT p.* FROM products p
+            JOIN products_categories c ON c.products_id = p.id
+            WHERE c.categories = :category AND c.products_id > :afterId
+            ORDER BY c.products_id
+            LIMIT :limit""", nativeQuery = true)
+    List<ProductEntity> findByCategoryAfter(@Param("category") String category, @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
+
+    /**
+     * Full-text search on the {@code search_vector} column (name weighted above description), best rank first.
+     *
+     * @param query a {@code to_tsquery} expression
+     */
+    @Query(value = """
+            SELECT p.* FROM products p, to_tsquery('english', :query) q
+            WHERE p.search_vector @@ q
+            ORDER BY ts_rank(p.search_vector, q) DESC, p.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<ProductEntity> search(@Param("query") String query, @Param("offset") long offset, @Param("limit") int limit);
+
     boolean existsByName(String name);
 
     Optional<ProductEntity> findByName(String name);
 
     List<ProductEntity> findAllByIdIn(List<Long> ids);
+
+    /**
+     * Reads only the columns batch validation needs, without entities: the result is not managed, and neither
+     * {@code additional_data} nor the categories are loaded.
+     */
+    @Query(value = """
+            SELECT p.id AS id, p.name AS name, p.price AS price,
+                   CAST(CASE WHEN p.stock_sharded
+                             THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id)
+                             ELSE p.inventory - p.reserved END AS integer) AS available
+            FROM products p WHERE p.id IN (:ids)""", nativeQuery = true)
+    List<AvailabilityView> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Projection of {@link #findAvailabilityByIdIn}.
+     */
+    interface AvailabilityView {
+        Long getId();
+
+        String getName();
+
+        BigDecimal getPrice();
+
+        Integer getAvailable();
+    }
 }
@@ -1,29 +1,55 @@
 package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
 
+import com.ecommerce.productservice.domain.exception.InvalidInventoryException;
+import com.ecommerce.productservice.application.dto.ProductResponse;
 import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.model.ProductAvailability;
+import com.ecommerce.productservice.domain.port.out.ProductEventPublisherPort;
 import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.productservice.infrastructure.adapter.cache.ProductCache;
 import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
 import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductEntityMapper;
+import com.ecommerce.productservice.infrastructure.adapter.search.SearchTerms;
 import com.ecommerce.shared.domain.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Adapter implementing {@link ProductRepositoryPort} for database operations using Spring Data JPA.
  * Maps between domain models and JPA entities.
  * <p>
- * Caching is enabled for {@code findAllByIds} but requires an external cache provider (e.g., Redis).
- * Ensure {@code spring.cache.type=redis} is set in application properties.
+ * {@code findAllByIds} is served per product from {@link ProductCache}; every write evicts exactly the products
+ * it changed and records them for the change feed in its transaction
+ * ({@link ProductEventPublisherPort#publishChanged}).
+ * <p>
+ * Reads run in a transaction so the lazily loaded categories can be fetched in batches while mapping to the domain
+ * model. Reads that fill the cache are not read-only: with replica routing, a read-only transaction could load a
+ * lagging replica row and cache it again right after a write evicted it.
  */
 @Slf4j
 @Component
@@ -32,6 +58,40 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
 
     private final ProductJpaRepository jpaRepository;
     private final ProductEntityMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryShardStore shardStore;
+    private final InventoryReservationStore reservationStore;
+    private final ProductCache productCache;
+    private final ProductEventPublisherPort eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ProductCountEstimator countEstimator;
+    private final ProductImportStore importStore;
+
+    private static final String RELEASE_STOCK_SQL = """
+            UPDATE products
+            SET inventory = inventory + ?, version = version + 1, updated_at = LOCALTIMESTAMP
+            WHERE id = ? AND NOT stock_sharded
+            """;
+    private static final String DETAILS_SQL = """
+            SELECT p.id, p.name, p.description, p.price, p.image, CAST(p.additional_data AS text) AS additional_data,
+                   p.created_at, p.updated_at,
+                   CASE WHEN p.stock_sharded
+                        THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id)
+                        ELSE p.inventory - p.reserved END AS available,
+                   (SELECT string_agg(c.categories, E'\\x1F') FROM products_categories c
+                    WHERE c.products_id = p.id) AS categories
+            FROM products p WHERE p.id = ANY (?)
+            """;
+    private static final String REVISIONS_SQL = """
+            SELECT p.id, p.version,
+                   CASE WHEN p.stock_sharded
+                        THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id)
+                        ELSE p.inventory - p.reserved END AS available
+            FROM products p WHERE p.id > ? ORDER BY p.id LIMIT ? OFFSET ?
+            """;
+    private static final String CATEGORY_SEPARATOR = "\u001F";
+    private static final TypeReference<Map<String, Object>> ADDITIONAL_DATA_TYPE = new TypeReference<>() {
+    };
 
     /**
      * Saves a product to the database and immediately flushes the changes.
@@ -49,35 +109,83 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     public Product save(Product product) {
         var productEntity = mapper.toEntity(product);
         var savedEntity = jpaRepository.saveAndFlush(productEntity);
+        // Nothing to evict for a new product, but the change feed and the name index must learn about it
+        List<Long> ids = List.of(savedEntity.getId());
+        eventPublisher.publishChanged(ids);
+        eventPublisher.publishDetailsChanged(ids);
         return mapper.toDomain(savedEntity);
     }
 
+    /**
+     * Fills the cache, so the transaction is not read-only: it must read the primary (see the class comment).
+     */
     @Override
+    @Transactional
     public Product findById(Long id) {
-        return jpaRepository.findById(id)
-                .map(mapper::toDomain)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+        Product product = productCache.getAll(List.of(id), this::loadByIds).get(id);
+        if (product == null) {
+            throw new ResourceNotFoundException("Product", id.toString());
+        }
+        return product;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Product> findAll(int page, int size) {
-        PageRequest pageable = PageRequest.of(page, size);
+        // Same order as findRevisions, so the revision of a page describes the page that is served
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("id"));
         var entities = jpaRepository.findAll(pageable);
-        return new PageImpl<>(entities.getContent().stream().map(mapper::toDomain).toList(),
+        return new PageImpl<>(toDomain(entities.getContent()),
                 pageable, entities.getTotalElements());
     }
 
+    @Override
+    public List<String> findRevisions(long afterId, long offset, int limit) {
+        return jdbcTemplate.query(REVISIONS_SQL,
+                (rs, rowNum) -> rs.getLong("id") + "-" + rs.getLong("version") + "-" + rs.getInt("available"),
+                afterId, limit, offset);
+    }
+
+    @Override
+    public long count() {
+        return jpaRepository.count();
+    }
+
     @Override
     public void delete(Long id) {
         var productFound = jpaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+        if (productFound.isStockSharded()) {
+            shardStore.deleteShards(id);
+        }
         jpaRepository.delete(productFound);
+        detailsChanged(List.of(id));
     }
 
+    /**
+     * Updates a product. The inventory of the domain product is the available stock: units held by active
+     * reservations are added back before writing the on-hand column, and for sharded products the new figure is
+     * spread over the shards instead. The row is locked before {@code reserved} is read, so no reservation can
+     * change it until the on-hand figure computed from it is committed.
+     */
     @Override
+    @Transactional
     public Product update(Long id, Product product) {
+        detailsChanged(List.of(id));
+        ProductEntity current = jpaRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+        int reserved = current.getReserved() != null ? current.getReserved() : 0;
         ProductEntity entity = mapper.toEntity(product);
         entity.setId(id);
+        entity.setReserved(current.getReserved());
+        entity.setStockSharded(current.isStockSharded());
+        if (current.isStockSharded()) {
+            entity.setInventory(current.getInventory());
+            Product updated = mapper.toDomain(jpaRepository.save(entity));
+            shardStore.redistribute(id, product.inventory());
+            return updated.withInventory(product.inventory());
+        }
+        entity.setInventory(product.inventory() + reserved);
         return mapper.toDomain(jpaRepository.save(entity));
     }
 
@@ -87,23 +195,79 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Product> findByName(String name) {
         return jpaRepository.findByName(name)
-                .map(mapper::toDomain);
+                .map(this::toDomain);
     }
 
+    /**
+     * Returns the products with the given IDs, in request order and without duplicates. Cached products are served
+     * from {@link ProductCache}; the missing ones are loaded in a single query and cached, from the primary since the
+     * transaction is not read-only (see the class comment).
+     */
     @Override
-    @Cacheable(value = "products", unless = "#result.isEmpty()")
+    @Transactional
     public List<Product> findAllByIds(List<Long> ids) {
-        return jpaRepository.findAllByIdIn(ids)
-                .stream()
-                .map(mapper::toDomain)
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Product> products = productCache.getAll(requested, this::loadByIds);
+        return requested.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    @Override
+    public List<ProductAvailability> findAvailabilityByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAvailabilityByIdIn(ids).stream()
+                .map(view -> new ProductAvailability(view.getId(), view.getName(), view.getPrice(),
+                        view.getAvailable() != null ? view.getAvailable() : 0))
+                .toList();
+    }
+
+    @Override
+    public List<ProductResponse> findDetailsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(DETAILS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> {
+                    String categories = rs.getString("categories");
+                    String additionalData = rs.getString("additional_data");
+                    return new ProductResponse(
+                            String.valueOf(rs.getLong("id")),
+                            rs.getString("name"),
+                            rs.getString("description"),
+                            rs.getBigDecimal("price"),
+                            rs.getInt("available"),
+                            rs.getString("image"),
+                            categories != null ? Set.of(categories.split(CATEGORY_SEPARATOR)) : Set.of(),
+                            additionalData != null ? readAdditionalData(additionalData) : null,
+                            rs.getObject("created_at", LocalDateTime.class),
+                            rs.getObject("updated_at", LocalDateTime.class));
+                });
+    }
+
+    private Map<String, Object> readAdditionalData(String json) {
+        try {
+            return objectMapper.readValue(json, ADDITIONAL_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid additional data stored for product", e);
+        }
+    }
+
+    private Map<Long, Product> loadByIds(Set<Long> ids) {
+        return toDomain(jpaRepository.findAllByIdIn(List.copyOf(ids))).stream()
+                .collect(Collectors.toMap(Product::id, Function.identity()));
+    }
+
     /**
-     * Retrieves products by color with pagination, using a native SQL query to
-     * extract the color from the JSONB {@code additionalData} column.
+     * Retrieves products by color with pagination, using a native SQL containment query on
+     * the JSONB {@code additionalData} column.
      *
      * @param color the color to filter by
      * @param page  the page number (0-based)
@@ -111,31 +275,237 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
      * @return a paginated list of products matching the color
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Product> findByColor(String color, int page, int size) {
         PageRequest pageable = PageRequest.of(page, size);
         Page<ProductEntity> entities = jpaRepository.findByColor(color, pageable);
-        return new PageImpl<>(entities.getContent().stream().map(mapper::toDomain).toList(),
+        return new PageImpl<>(toDomain(entities.getContent()),
                 pageable, entities.getTotalElements());
     }
 
     @Override
-    @CacheEvict(value = "products", allEntries = true) // Clear cache for all products
-    public List<Product> updateStockInBatch(Map<Long, Integer> productIdToStock) {
-        List<ProductEntity> entities = jpaRepository.findAllByIdIn(productIdToStock.keySet().stream().toList()).stream()
+    @Transactional(readOnly = true)
+    public List<Product> findByAttributes(Map<String, String> attributes, long afterId, int limit) {
+        if (attributes.isEmpty()) {
+            return toDomain(jpaRepository.findAllAfter(afterId, limit));
+        }
+        return toDomain(jpaRepository.findByAttributes(attributeFilter(attributes), afterId, limit));
+    }
+
+    @Override
+    public OptionalLong estimateCountByAttributes(Map<String, String> attributes) {
+        return attributes.isEmpty()
+                ? countEstimator.estimateAll()
+                : countEstimator.estimateByAttributes(attributeFilter(attributes));
+    }
+
+    private String attributeFilter(Map<String, String> attributes) {
+        try {
+            return objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize attribute filter", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByCategory(String category, long afterId, int limit) {
+        return toDomain(jpaRepository.findByCategoryAfter(category, afterId, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> search(String text, long offset, int limit) {
+        String query = SearchTerms.prefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return toDomain(jpaRepository.search(query, offset, limit));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> upsertAllByName(List<Product> products) {
+        List<Long> ids = importStore.upsert(products);
+        detailsChanged(ids);
+        return ids;
+    }
+
+    /**
+     * Holds stock for an order in the reservation ledger, see {@link InventoryReservationStore}.
+     * <p>
+     * Each line is one conditional {@code UPDATE} on {@code inventory - reserved}, sent as a single JDBC batch and
+     * evaluated by the database under the row lock, so concurrent reservations of the same SKU never oversell and
+     * never fail with optimistic-lock errors. A line that matches no row (unknown product or short of stock) undoes
+     * the lines that did succeed and is reported as a rejection rather than an exception, so the transaction is not
+     * marked rollback-only and the {@code REJECTED} ledger lines commit.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public List<Long> reserveStock(UUID orderId, Map<Long, Integer> quantities, LocalDateTime expiresAt) {
+        List<Long> rejected = reservationStore.hold(orderId, sortedById(quantities), expiresAt);
+        if (!rejected.isEmpty()) {
+            return rejected;
+        }
+        changed(quantities.keySet());
+        log.info("Reserved stock of {} products for order {}", quantities.size(), orderId);
+        return List.of();
+    }
+
+    @Override
+    @Transactional
+    public void reserveStockForOrders(Map<UUID, Map<Long, Integer>> quantitiesByOrder, LocalDateTime expiresAt) {
+        Set<UUID> reserved = reservationStore.lockOrders(quantitiesByOrder.keySet());
+        if (!reserved.isEmpty()) {
+            throw new InvalidInventoryException("Orders already reserved: %s", reserved, "order already reserved");
+        }
+        Map<UUID, List<Map.Entry<Long, Integer>>> linesByOrder = quantitiesByOrder.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, order -> sortedById(order.getValue())));
+        List<Long> rejected = reservationStore.holdAll(linesByOrder, expiresAt);
+        if (!rejected.isEmpty()) {
+            throw new InvalidInventoryException("Insufficient inventory or unknown products: %s",
+                    rejected, "insufficient inventory or unknown product");
+        }
+        List<Long> productIds = quantitiesByOrder.values().stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .toList();
+        changed(productIds);
+        log.info("Reserved stock of {} products for {} orders", Set.copyOf(productIds).size(),
+                quantitiesByOrder.size());
+    }
+
+    @Override
+    public void commitReservation(UUID orderId) {
+        List<Long> committed = reservationStore.commit(orderId);
+        changed(committed);
+        log.info("Committed {} reserved lines for order {}", committed.size(), orderId);
+    }
+
+    @Override
+    public boolean releaseReservation(UUID orderId) {
+        List<Long> reserved = reservationStore.release(orderId);
+        changed(reserved);
+        return !reserved.isEmpty();
+    }
+
+    @Override
+    @Transactional
+    public Set<UUID> releaseReservations(Collection<UUID> orderIds) {
+        Set<UUID> reserved = reservationStore.lockOrders(orderIds);
+        changed(reservationStore.releaseAll(reserved));
+        return reserved;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> releaseStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = sortedById(quantities);
+        int[][] counts = jdbcTemplate.batchUpdate(RELEASE_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setLong(2, line.getKey());
+        });
+        List<Long> missing = unmatched(lines, counts);
+        if (!missing.isEmpty()) {
+            missing = shardStore.release(linesOf(lines, missing));
+        }
+        changed(quantities.keySet());
+        log.info("Released stock for {} products", lines.size());
+        return missing;
+    }
+
+    @Override
+    @Transactional
+    public void recordReleased(Map<UUID, Map<Long, Integer>> quantitiesByOrder) {
+        quantitiesByOrder.forEach((orderId, quantities) ->
+                reservationStore.recordReleased(orderId, sortedById(quantities)));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> expireReservations(LocalDateTime now, int batchSize) {
+        List<Long> expired = reservationStore.expire(now, batchSize);
+        changed(expired);
+        return expired;
+    }
+
+    @Override
+    public void shardInventory(Long id, int shards) {
+        shardStore.shard(id, shards);
+        changed(List.of(id));
+    }
+
+    @Override
+    public void unshardInventory(Long id) {
+        shardStore.unshard(id);
+        changed(List.of(id));
+    }
+
+    /**
+     * Evicts changed products from the cache and records them for the change feed, in the current transaction.
+     */
+    private void changed(Collection<Long> ids) {
+        productCache.evictAll(ids);
+        eventPublisher.publishChanged(ids);
+    }
+
+    /**
+     * Like {@link #changed}, for writes that can change names as well as stock, so the name index reloads them.
+     */
+    private void detailsChanged(Collection<Long> ids) {
+        changed(ids);
+        eventPublisher.publishDetailsChanged(ids);
+    }
+
+    private Product toDomain(ProductEntity entity) {
+        return toDomain(List.of(entity)).getFirst();
+    }
+
+    /**
+     * Maps entities to domain products, replacing the inventory of sharded products with the sum of their shards
+     * (one aggregate query for the whole list, none when no product is sharded).
+     */
+    private List<Product> toDomain(List<ProductEntity> entities) {
+        List<Long> shardedIds = entities.stream()
+                .filter(ProductEntity::isStockSharded)
+                .map(ProductEntity::getId)
+                .toList();
+        Map<Long, Integer> shardedTotals = shardedIds.isEmpty() ? Map.of() : shardStore.totals(shardedIds);
+        return entities.stream()
                 .map(entity -> {
                     Product product = mapper.toDomain(entity);
-                    Integer newInventory = productIdToStock.get(product.id());
-                    if (newInventory == null) {
-                        return entity; // No update needed
-                    }
-                    Product updatedProduct = product.updateInventory(newInventory);
-                    ProductEntity updatedEntity = mapper.toEntity(updatedProduct);
-                    updatedEntity.setId(product.id());
-                    return updatedEntity;
+                    Integer total = shardedTotals.get(entity.getId());
+                    return total != null ? product.withInventory(total) : product;
                 })
                 .toList();
-        List<ProductEntity> savedEntities = jpaRepository.saveAllAndFlush(entities);
-        log.info("Batch updated stock for {} products", productIdToStock.size());
-        return savedEntities.stream().map(mapper::toDomain).toList();
+    }
+
+    private static List<Map.Entry<Long, Integer>> linesOf(List<Map.Entry<Long, Integer>> lines, List<Long> ids) {
+        Set<Long> selected = Set.copyOf(ids);
+        return lines.stream().filter(line -> selected.contains(line.getKey())).toList();
+    }
+
+    private static List<Map.Entry<Long, Integer>> sortedById(Map<Long, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+    }
+
+    /**
+     * Product IDs whose statement did not update exactly one row. Drivers that cannot report per-statement
+     * counts ({@link Statement#SUCCESS_NO_INFO}) are treated as failures, since success cannot be proven.
+     */
+    private static List<Long> unmatched(List<Map.Entry<Long, Integer>> lines, int[][] counts) {
+        List<Long> unmatched = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 1) {
+                    unmatched.add(lines.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return unmatched;
     }
 }
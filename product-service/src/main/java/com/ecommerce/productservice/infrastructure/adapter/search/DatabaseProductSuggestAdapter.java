@@ -0,0 +1,40 @@
+package com.ecommerce.productservice.infrastructure.adapter.search;
+
+import com.ecommerce.productservice.domain.model.ProductSuggestion;
+import com.ecommerce.productservice.domain.port.out.ProductSuggestPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Autocomplete served by the full-text index of the {@code products} table. Used when the in-process index
+ * ({@link InMemoryProductSuggestIndex}) is disabled.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-search", name = "suggest-index", havingValue = "database", matchIfMissing = true)
+public class DatabaseProductSuggestAdapter implements ProductSuggestPort {
+
+    private static final String SUGGEST_SQL = """
+            SELECT p.id, p.name
+            FROM products p, to_tsquery('english', ?) q
+            WHERE p.search_vector @@ q
+            ORDER BY ts_rank(p.search_vector, q) DESC, length(p.name), p.id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String query = SearchTerms.prefixQuery(prefix);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SUGGEST_SQL,
+                (rs, rowNum) -> new ProductSuggestion(rs.getLong("id"), rs.getString("name")), query, limit);
+    }
+}
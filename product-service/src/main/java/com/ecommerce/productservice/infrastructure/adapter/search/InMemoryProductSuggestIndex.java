@@ -0,0 +1,162 @@
+package com.ecommerce.productservice.infrastructure.adapter.search;
+
+import com.ecommerce.productservice.domain.model.ProductSuggestion;
+import com.ecommerce.productservice.domain.port.out.ProductSuggestPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index of product names for low-latency autocomplete: each word of a name maps to the IDs of
+ * the products containing it, in a sorted map so a prefix is a range scan.
+ * <p>
+ * The index is built from the database once the application is ready, then kept up to date incrementally: products
+ * created, deleted or edited are announced on {@code product_inventory_updated} with {@code details} set (see
+ * {@link com.ecommerce.productservice.infrastructure.adapter.kafka.ProductSuggestIndexListener}) and marked as
+ * changed, and a scheduled refresh reloads the names of all changed products in one query. Stock-only updates,
+ * such as reservations, are not applied, so they cost the index nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-search", name = "suggest-index", havingValue = "in-memory")
+public class InMemoryProductSuggestIndex implements ProductSuggestPort {
+
+    /**
+     * Upper bound of the products considered per prefix, so a one-letter prefix does not scan the whole catalog.
+     */
+    private static final int MAX_CANDIDATES = 1000;
+    private static final int REFRESH_BATCH_SIZE = 1000;
+    private static final String LOAD_ALL_SQL = "SELECT id, name FROM products";
+    private static final String LOAD_SQL = "SELECT id, name FROM products WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        jdbcTemplate.query(LOAD_ALL_SQL, (RowCallbackHandler) rs -> index(rs.getLong("id"), rs.getString("name")));
+        ready = true;
+        log.info("Built product suggest index: {} products, {} terms", names.size(), postings.size());
+    }
+
+    /**
+     * Schedules the given products to be reloaded on the next refresh.
+     */
+    public void markChanged(Collection<Long> ids) {
+        changed.addAll(ids);
+    }
+
+    @Scheduled(fixedDelayString = "${product-search.suggest-refresh-interval:PT1S}")
+    public void refresh() {
+        if (!ready || changed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+            Set<Long> deleted = new HashSet<>(batch);
+            namedParameterJdbcTemplate.query(LOAD_SQL, Map.of("ids", batch), (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                deleted.remove(id);
+                index(id, rs.getString("name"));
+            });
+            deleted.forEach(this::remove);
+        }
+        log.debug("Refreshed {} products in the suggest index", ids.size());
+    }
+
+    /**
+     * Returns products having, for every word of {@code prefix}, a word of their name starting with it. Names
+     * starting with the first word come first, then shorter names.
+     */
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        List<String> terms = SearchTerms.of(prefix);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> matches = idsWithPrefix(term);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+        String first = terms.getFirst();
+        return candidates.stream()
+                .map(id -> new ProductSuggestion(id, names.get(id)))
+                .filter(suggestion -> suggestion.name() != null)
+                .sorted(Comparator.comparing((ProductSuggestion suggestion) ->
+                                !suggestion.name().toLowerCase(Locale.ROOT).startsWith(first))
+                        .thenComparingInt(suggestion -> suggestion.name().length())
+                        .thenComparing(ProductSuggestion::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private Set<Long> idsWithPrefix(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            for (Long id : posting) {
+                ids.add(id);
+                if (ids.size() >= MAX_CANDIDATES) {
+                    return ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private synchronized void index(long id, String name) {
+        String previous = names.put(id, name);
+        if (previous != null) {
+            if (previous.equals(name)) {
+                return;
+            }
+            unlink(id, previous);
+        }
+        for (String term : SearchTerms.of(name)) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private synchronized void remove(long id) {
+        String previous = names.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    private void unlink(long id, String name) {
+        for (String term : SearchTerms.of(name)) {
+            postings.computeIfPresent(term, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.productservice.infrastructure.adapter.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Splits user input into search terms. Anything but letters and digits separates terms, which also keeps
+ * {@code to_tsquery} operators out of the generated queries.
+ */
+public final class SearchTerms {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTerms() {
+    }
+
+    public static List<String> of(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Builds a {@code to_tsquery} expression matching every term as a prefix ({@code red:* & sho:*}).
+     *
+     * @return the expression, or an empty string if the text has no term
+     */
+    public static String prefixQuery(String text) {
+        return of(text).stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
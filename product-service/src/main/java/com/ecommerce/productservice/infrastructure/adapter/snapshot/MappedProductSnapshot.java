@@ -0,0 +1,274 @@
+package com.ecommerce.productservice.infrastructure.adapter.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable catalog snapshot in a read-only memory-mapped file, outside the Java heap.
+ * <p>
+ * Layout: a header ({@code magic}, record count), fixed-size records sorted by product ID, then a string pool.
+ * A record holds the ID, timestamps (epoch microseconds), version, available inventory and, for every text field, the
+ * offset and length of its UTF-8 bytes in the pool. Equal images and category lists are stored once. Lookups are a
+ * binary search on the record IDs and only allocate the strings actually read.
+ * <p>
+ * The {@link Writer} streams records and pool into two files, so a build holds no more than one row and the
+ * deduplicated strings on the heap. The files are deleted right after mapping; the mapping stays valid until the
+ * buffer is garbage collected.
+ */
+final class MappedProductSnapshot {
+
+    static final int NAME = 0;
+    static final int DESCRIPTION = 1;
+    static final int PRICE = 2;
+    static final int IMAGE = 3;
+    static final int CATEGORIES = 4;
+    static final int ADDITIONAL_DATA = 5;
+    private static final int STRING_FIELDS = 6;
+
+    private static final int MAGIC = 0x50524F44;
+    private static final int HEADER_SIZE = 8;
+    private static final int ID = 0;
+    private static final int CREATED_AT = 8;
+    private static final int UPDATED_AT = 16;
+    private static final int VERSION = 24;
+    private static final int INVENTORY = 32;
+    private static final int STRINGS = 36;
+    private static final int RECORD_SIZE = STRINGS + STRING_FIELDS * 8;
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NULL_VERSION = Long.MIN_VALUE;
+    private static final int NULL_INVENTORY = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int poolOffset;
+
+    private MappedProductSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a product snapshot");
+        }
+        this.buffer = buffer;
+        this.count = buffer.getInt(4);
+        this.poolOffset = HEADER_SIZE + count * RECORD_SIZE;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return the record index of the product, {@code -1} if the snapshot does not contain it
+     */
+    int find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = buffer.getLong(record(mid) + ID);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    long id(int record) {
+        return buffer.getLong(record(record) + ID);
+    }
+
+    LocalDateTime createdAt(int record) {
+        return timestamp(buffer.getLong(record(record) + CREATED_AT));
+    }
+
+    LocalDateTime updatedAt(int record) {
+        return timestamp(buffer.getLong(record(record) + UPDATED_AT));
+    }
+
+    Long version(int record) {
+        long version = buffer.getLong(record(record) + VERSION);
+        return version == NULL_VERSION ? null : version;
+    }
+
+    Integer inventory(int record) {
+        int inventory = buffer.getInt(record(record) + INVENTORY);
+        return inventory == NULL_INVENTORY ? null : inventory;
+    }
+
+    String string(int record, int field) {
+        int position = record(record) + STRINGS + field * 8;
+        int length = buffer.getInt(position + 4);
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(poolOffset + buffer.getInt(position), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int record(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        return micros == NULL_TIMESTAMP ? null
+                : LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Starts a snapshot whose files are written to {@code directory}. The writer must be closed, also once mapped.
+     */
+    static Writer writer(Path directory) throws IOException {
+        return new Writer(directory);
+    }
+
+    /**
+     * Streams records in ascending product ID order to a records file and their strings to a pool file, through two
+     * small direct buffers, then appends the pool to the records and maps the result.
+     */
+    static final class Writer implements Closeable {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final Path recordsFile;
+        private final Path poolFile;
+        private final FileChannel records;
+        private final FileChannel pool;
+        private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer poolBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final Map<String, Integer> pooled = new HashMap<>();
+        private long poolSize;
+        private int count;
+        private long lastId = Long.MIN_VALUE;
+
+        private Writer(Path directory) throws IOException {
+            recordsFile = Files.createTempFile(directory, "products-", ".snapshot");
+            poolFile = Files.createTempFile(directory, "products-", ".pool");
+            records = FileChannel.open(recordsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            pool = FileChannel.open(poolFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            records.position(HEADER_SIZE); // Header written once the count is known
+        }
+
+        /**
+         * @param strings the text fields, indexed by {@link #NAME}, {@link #DESCRIPTION} and the other field constants
+         */
+        Writer add(long id, LocalDateTime createdAt, LocalDateTime updatedAt, Long version, Integer inventory,
+                   String... strings) {
+            if (id <= lastId) {
+                throw new IllegalArgumentException("Records must be added in ascending ID order");
+            }
+            try {
+                if (recordBuffer.remaining() < RECORD_SIZE) {
+                    drain(recordBuffer, records);
+                }
+                recordBuffer.putLong(id)
+                        .putLong(micros(createdAt))
+                        .putLong(micros(updatedAt))
+                        .putLong(version != null ? version : NULL_VERSION)
+                        .putInt(inventory != null ? inventory : NULL_INVENTORY);
+                for (int field = 0; field < STRING_FIELDS; field++) {
+                    String value = field < strings.length ? strings[field] : null;
+                    if (value == null) {
+                        recordBuffer.putInt(0).putInt(NULL_STRING);
+                    } else {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        // Only images and category lists repeat across products, the other fields are not deduplicated
+                        boolean shared = field == IMAGE || field == CATEGORIES;
+                        Integer offset = shared ? pooled.get(value) : null;
+                        if (offset == null) {
+                            offset = append(bytes);
+                            if (shared) {
+                                pooled.put(value, offset);
+                            }
+                        }
+                        recordBuffer.putInt(offset).putInt(bytes.length);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            lastId = id;
+            count++;
+            return this;
+        }
+
+        /**
+         * Writes the header, appends the string pool to the records and maps the snapshot read-only.
+         */
+        MappedProductSnapshot map() throws IOException {
+            drain(recordBuffer, records);
+            drain(poolBuffer, pool);
+            long recordsEnd = records.position();
+            long size = recordsEnd + poolSize;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Product snapshot exceeds 2 GB: " + size + " bytes");
+            }
+            records.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(count).flip(), 0);
+            for (long transferred = 0; transferred < poolSize; ) {
+                transferred += pool.transferTo(transferred, poolSize - transferred, records);
+            }
+            return new MappedProductSnapshot(records.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                records.close();
+                pool.close();
+            } finally {
+                Files.deleteIfExists(recordsFile);
+                Files.deleteIfExists(poolFile);
+            }
+        }
+
+        private int append(byte[] bytes) throws IOException {
+            if (poolSize + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("Product snapshot string pool exceeds 2 GB");
+            }
+            int offset = (int) poolSize;
+            if (bytes.length > poolBuffer.remaining()) {
+                drain(poolBuffer, pool);
+            }
+            if (bytes.length > poolBuffer.capacity()) {
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    pool.write(large);
+                }
+            } else {
+                poolBuffer.put(bytes);
+            }
+            poolSize += bytes.length;
+            return offset;
+        }
+
+        private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private static long micros(LocalDateTime timestamp) {
+            return timestamp == null ? NULL_TIMESTAMP
+                    : ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+        }
+    }
+}
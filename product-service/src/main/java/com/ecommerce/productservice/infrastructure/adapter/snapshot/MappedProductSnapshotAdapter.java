@@ -0,0 +1,213 @@
+package com.ecommerce.productservice.infrastructure.adapter.snapshot;
+
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.productservice.domain.port.out.ProductSnapshotPort;
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductChangeFeed.ProductChange;
+import com.ecommerce.productservice.infrastructure.properties.ProductSnapshotProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves product lookups from a {@link MappedProductSnapshot} of the whole catalog.
+ * <p>
+ * The snapshot is built once the application is ready and rebuilt every {@code product-snapshot.rebuild-interval};
+ * each build streams the catalog in one query into a new file and replaces the previous snapshot atomically, so
+ * readers never see a partial snapshot. Between builds, the price and inventory deltas published on the change feed
+ * (see {@link com.ecommerce.productservice.infrastructure.adapter.kafka.ProductSnapshotChangeListener}) are kept in
+ * a small overlay and applied on read. Deltas older than the snapshot's version of the product, or received before
+ * the build started, are dropped when it is swapped in.
+ * <p>
+ * Products missing from the snapshot (created after the build) or deleted since are reported as unknown, and
+ * callers read them from the database. Other fields (name, description...) are as fresh as the last build, so the
+ * revision served with a product whose delta is newer than the snapshot also names the snapshot version: it never
+ * matches the revision of the up-to-date representation read from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "product-snapshot", name = "enabled", havingValue = "true")
+public class MappedProductSnapshotAdapter implements ProductSnapshotPort {
+
+    private static final String CATEGORY_SEPARATOR = "\u001F";
+    private static final TypeReference<Map<String, Object>> ADDITIONAL_DATA_TYPE = new TypeReference<>() {
+    };
+    private static final String LOAD_ALL_SQL = """
+            SELECT p.id, p.name, p.description, p.price, p.image, p.additional_data::text AS additional_data,
+                   p.created_at, p.updated_at, p.version,
+                   CASE WHEN p.stock_sharded
+                        THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_stock_shards s WHERE s.product_id = p.id)
+                        ELSE p.inventory - p.reserved END AS available,
+                   (SELECT string_agg(c.categories, E'\\x1F') FROM products_categories c
+                    WHERE c.products_id = p.id) AS categories
+            FROM products p ORDER BY p.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductSnapshotProperties properties;
+
+    private final AtomicReference<MappedProductSnapshot> snapshot = new AtomicReference<>();
+    private final Map<Long, Delta> overlay = new ConcurrentHashMap<>();
+    private final AtomicLong deltaSequence = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${product-snapshot.rebuild-interval:PT5M}",
+            fixedDelayString = "${product-snapshot.rebuild-interval:PT5M}")
+    public void rebuild() {
+        long coveredSequence = deltaSequence.get();
+        long start = System.nanoTime();
+        try (MappedProductSnapshot.Writer writer = MappedProductSnapshot.writer(directory())) {
+            jdbcTemplate.query(LOAD_ALL_SQL, (RowCallbackHandler) rs -> writer.add(
+                    rs.getLong("id"),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("updated_at", LocalDateTime.class),
+                    rs.getObject("version") instanceof Number version ? version.longValue() : null,
+                    rs.getObject("available") instanceof Number available ? available.intValue() : null,
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getBigDecimal("price") != null ? rs.getBigDecimal("price").toPlainString() : null,
+                    rs.getString("image"),
+                    rs.getString("categories"),
+                    rs.getString("additional_data")));
+            MappedProductSnapshot built = writer.map();
+            snapshot.set(built);
+            overlay.values().removeIf(delta -> isCovered(built, delta, coveredSequence));
+            log.info("Built product snapshot: {} products in {} ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // Keep serving the previous snapshot (or the database) until the next build
+            log.error("Failed to build product snapshot", e);
+        }
+    }
+
+    /**
+     * Applies a price and inventory change published on the change feed, unless the snapshot already has a newer
+     * version of the product. Changes of the same version are applied: sharded stock changes the inventory
+     * without incrementing the version.
+     */
+    public void apply(ProductChange change) {
+        MappedProductSnapshot current = snapshot.get();
+        if (current != null && !change.deleted() && change.version() != null) {
+            int record = current.find(change.id());
+            Long version = record >= 0 ? current.version(record) : null;
+            if (version != null && version > change.version()) {
+                return;
+            }
+        }
+        overlay.put(change.id(), new Delta(change, deltaSequence.incrementAndGet()));
+    }
+
+    @Override
+    public Optional<ProductResponse> findById(Long id) {
+        MappedProductSnapshot current = snapshot.get();
+        if (current == null || id == null) {
+            return Optional.empty();
+        }
+        int record = current.find(id);
+        Delta delta = overlay.get(id);
+        if (record < 0 || (delta != null && delta.change().deleted())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(toResponse(current, record, delta != null ? delta.change() : null));
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable additional data for product {} in snapshot: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Revision of the representation {@link #findById} returns: the database revision format when the snapshot
+     * and the applied delta are at the same version, suffixed with the snapshot version when the delta is newer.
+     */
+    @Override
+    public Optional<String> findRevision(Long id) {
+        MappedProductSnapshot current = snapshot.get();
+        if (current == null || id == null) {
+            return Optional.empty();
+        }
+        int record = current.find(id);
+        Delta delta = overlay.get(id);
+        if (record < 0 || (delta != null && delta.change().deleted())) {
+            return Optional.empty();
+        }
+        Long snapshotVersion = current.version(record);
+        if (delta == null) {
+            return Optional.of(id + "-" + snapshotVersion + "-" + current.inventory(record));
+        }
+        ProductChange change = delta.change();
+        String revision = id + "-" + change.version() + "-" + change.inventory();
+        return Optional.of(Objects.equals(change.version(), snapshotVersion)
+                ? revision
+                : revision + "-s" + snapshotVersion);
+    }
+
+    /**
+     * Whether the freshly built snapshot makes the delta redundant.
+     */
+    private static boolean isCovered(MappedProductSnapshot built, Delta delta, long coveredSequence) {
+        int record = built.find(delta.change().id());
+        if (delta.change().deleted()) {
+            return record < 0;
+        }
+        Long version = record >= 0 ? built.version(record) : null;
+        Long changeVersion = delta.change().version();
+        if (version == null || changeVersion == null) {
+            return delta.sequence() <= coveredSequence;
+        }
+        return version > changeVersion || (version.equals(changeVersion) && delta.sequence() <= coveredSequence);
+    }
+
+    private ProductResponse toResponse(MappedProductSnapshot snapshot, int record, ProductChange change)
+            throws JsonProcessingException {
+        String price = snapshot.string(record, MappedProductSnapshot.PRICE);
+        String categories = snapshot.string(record, MappedProductSnapshot.CATEGORIES);
+        String additionalData = snapshot.string(record, MappedProductSnapshot.ADDITIONAL_DATA);
+        return new ProductResponse(
+                String.valueOf(snapshot.id(record)),
+                snapshot.string(record, MappedProductSnapshot.NAME),
+                snapshot.string(record, MappedProductSnapshot.DESCRIPTION),
+                change != null ? change.price() : price != null ? new BigDecimal(price) : null,
+                change != null ? change.inventory() : snapshot.inventory(record),
+                snapshot.string(record, MappedProductSnapshot.IMAGE),
+                categories != null ? Set.of(categories.split(CATEGORY_SEPARATOR)) : Set.of(),
+                additionalData != null ? objectMapper.readValue(additionalData, ADDITIONAL_DATA_TYPE) : null,
+                snapshot.createdAt(record),
+                change != null ? change.updatedAt() : snapshot.updatedAt(record));
+    }
+
+    private Path directory() {
+        return Path.of(StringUtils.hasText(properties.directory())
+                ? properties.directory()
+                : System.getProperty("java.io.tmpdir"));
+    }
+
+    private record Delta(ProductChange change, long sequence) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.productservice.infrastructure.adapter.snapshot;
+
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.productservice.domain.port.out.ProductSnapshotPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Used when the catalog snapshot ({@link MappedProductSnapshotAdapter}) is disabled: every lookup goes to the
+ * database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product-snapshot", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class NoProductSnapshotAdapter implements ProductSnapshotPort {
+
+    @Override
+    public Optional<ProductResponse> findById(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> findRevision(Long id) {
+        return Optional.empty();
+    }
+}
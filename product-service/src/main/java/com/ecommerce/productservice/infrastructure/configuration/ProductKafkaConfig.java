@@ -1,6 +1,7 @@
 package com.ecommerce.productservice.infrastructure.configuration;
 
 import com.ecommerce.productservice.domain.event.ProductEventType;
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductEventListener;
 import io.cloudevents.CloudEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ public class ProductKafkaConfig {
 
     private final KafkaTemplate<String, CloudEvent> kafkaTemplate;
     private final ConsumerFactory<String, CloudEvent> consumerFactory;
+    private final ProductEventListener productEventListener;
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, CloudEvent> kafkaListenerContainerFactory() {
@@ -40,12 +42,36 @@ public class ProductKafkaConfig {
         return factory;
     }
 
+    /**
+     * Delivers a whole poll to the listener ({@code order-events.batch.enabled}). Listeners report the failed record
+     * with a {@link org.springframework.kafka.listener.BatchListenerFailedException}, so the error handler commits
+     * the records before it and retries from there.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CloudEvent> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CloudEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(productKafkaErrorHandler());
+        return factory;
+    }
+
+    /**
+     * Retries a failed record three times, then reports it to the saga if it needs an answer
+     * ({@link ProductEventListener#onRetriesExhausted}) and sends it to the dead-letter topic.
+     */
     @Bean
     public CommonErrorHandler productKafkaErrorHandler() {
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(
+        DeadLetterPublishingRecoverer deadLetters = new DeadLetterPublishingRecoverer(
                 kafkaTemplate, (record, ex) -> new TopicPartition("product-dead-letter-topic", 0)
         );
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, ex) -> {
+            productEventListener.onRetriesExhausted(record);
+            deadLetters.accept(record, ex);
+        }, new FixedBackOff(1000L, 3));
         errorHandler.setRetryListeners((record, ex, attempt) ->
                 log.warn("Retry attempt {} for record on topic {}: {}", attempt, record.topic(), ex.getMessage())
         );
@@ -56,6 +82,8 @@ public class ProductKafkaConfig {
     public NewTopic[] productTopics() {
         return new NewTopic[]{
                 TopicBuilder.name(ProductEventType.PRODUCT_INVENTORY_UPDATED.getTopic()).partitions(1).replicas(1).build(),
+                // Change feed: only the latest state of each product is kept
+                TopicBuilder.name(ProductEventType.PRODUCT_CHANGED.getTopic()).partitions(1).replicas(1).compact().build(),
                 // Unique centralized dlt for product-service
                 TopicBuilder.name("product-dead-letter-topic").partitions(1).replicas(1).build()
         };
@@ -0,0 +1,22 @@
+package com.ecommerce.productservice.infrastructure.configuration;
+
+import com.ecommerce.productservice.interfaces.rest.ProductConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC customizations for the product API.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ProductConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/products", "/products/*");
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.productservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the inventory reservation ledger.
+ *
+ * @param ttl                 how long stock stays held for an order that is neither paid nor cancelled
+ * @param expiryBatchSize     expired reservations returned per transaction
+ * @param maxBatchesPerRun    upper bound of batches per expiry run, keeps a single run short
+ */
+@ConfigurationProperties(prefix = "inventory.reservation")
+public record InventoryReservationProperties(Duration ttl,
+                                             int expiryBatchSize,
+                                             int maxBatchesPerRun) {
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sharded inventory of hot products.
+ *
+ * @param maxShards          upper bound of sub-counters a product may be split into
+ * @param rebalanceEnabled   whether the background rebalancer runs
+ * @param rebalanceThreshold a product is rebalanced when one of its shards holds less than this fraction of its
+ *                           fair share (total / shards)
+ */
+@ConfigurationProperties(prefix = "inventory.sharding")
+public record InventoryShardingProperties(int maxShards,
+                                          boolean rebalanceEnabled,
+                                          double rebalanceThreshold) {
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.productservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the two-tier product cache and for HTTP caching of product reads.
+ *
+ * @param l1   in-process tier (Caffeine), private to each instance
+ * @param l2   shared tier, common to all instances
+ * @param http {@code Cache-Control} policies sent to clients
+ */
+@ConfigurationProperties(prefix = "product-cache")
+public record ProductCacheProperties(Local l1, Shared l2, Http http) {
+
+    /**
+     * @param maximumSize maximum number of products kept per instance
+     * @param ttl         time after which an entry is reloaded even without an invalidation
+     */
+    public record Local(long maximumSize, Duration ttl) {
+    }
+
+    /**
+     * @param type          {@code redis}, or {@code in-memory} for an embedded stand-in (tests, single instance runs)
+     * @param ttl           expiry of the shared entries
+     * @param maximumSize   maximum number of products kept by the {@code in-memory} stand-in; Redis is bounded by its
+     *                      own {@code maxmemory} policy
+     * @param keyPrefix     prefix of the Redis keys
+     * @param evictionDelay time after a commit at which the changed products are evicted once more, to drop old rows
+     *                      put back by loads of other instances that overlapped the commit
+     */
+    public record Shared(String type, Duration ttl, long maximumSize, String keyPrefix, Duration evictionDelay) {
+    }
+
+    /**
+     * @param itemMaxAge how long a single product may be served without revalidation
+     * @param pageMaxAge how long a page of products may be served without revalidation
+     */
+    public record Http(Duration itemMaxAge, Duration pageMaxAge) {
+    }
+}
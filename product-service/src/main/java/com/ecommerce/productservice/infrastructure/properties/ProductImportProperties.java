@@ -0,0 +1,14 @@
+package com.ecommerce.productservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the bulk product import.
+ *
+ * @param chunkSize         rows validated and upserted per transaction
+ * @param maxReportedErrors row errors listed in the import report; further errors are only counted
+ */
+@ConfigurationProperties(prefix = "product-import")
+public record ProductImportProperties(int chunkSize,
+                                      int maxReportedErrors) {
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.productservice.infrastructure.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the memory-mapped catalog snapshot.
+ *
+ * @param enabled         serve {@code findById} and batch details from the snapshot
+ * @param rebuildInterval delay between two full rebuilds; price and inventory changes are applied in between
+ * @param directory       where the snapshot file is written before being mapped, the temporary directory if empty
+ */
+@ConfigurationProperties(prefix = "product-snapshot")
+public record ProductSnapshotProperties(boolean enabled,
+                                        Duration rebuildInterval,
+                                        String directory) {
+}
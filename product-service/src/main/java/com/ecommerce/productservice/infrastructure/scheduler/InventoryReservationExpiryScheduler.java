@@ -0,0 +1,40 @@
+package com.ecommerce.productservice.infrastructure.scheduler;
+
+import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.productservice.infrastructure.properties.InventoryReservationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically returns the stock of reservations whose order was neither paid nor cancelled in time,
+ * in bounded batches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReservationExpiryScheduler {
+
+    private final ProductRepositoryPort productRepositoryPort;
+    private final InventoryReservationProperties properties;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry-interval:PT1M}")
+    public void expireReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            List<Long> expired = productRepositoryPort.expireReservations(now, properties.expiryBatchSize());
+            total += expired.size();
+            if (expired.size() < properties.expiryBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Released {} expired inventory reservations", total);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.productservice.infrastructure.scheduler;
+
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.InventoryShardStore;
+import com.ecommerce.productservice.infrastructure.properties.InventoryShardingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically moves stock between the shards of sharded products so that random shard picks keep finding
+ * enough stock. Each product is rebalanced in its own short transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryShardRebalancer {
+
+    private final InventoryShardStore shardStore;
+    private final InventoryShardingProperties properties;
+
+    @Scheduled(fixedDelayString = "${inventory.sharding.rebalance-interval:PT5S}")
+    public void rebalance() {
+        if (!properties.rebalanceEnabled()) {
+            return;
+        }
+        int rebalanced = 0;
+        for (Long productId : shardStore.shardedProductIds()) {
+            try {
+                if (shardStore.rebalance(productId, properties.rebalanceThreshold())) {
+                    rebalanced++;
+                }
+            } catch (Exception e) {
+                log.warn("Failed to rebalance inventory shards of product {}: {}", productId, e.getMessage());
+            }
+        }
+        if (rebalanced > 0) {
+            log.debug("Rebalanced inventory shards of {} products", rebalanced);
+        }
+    }
+}
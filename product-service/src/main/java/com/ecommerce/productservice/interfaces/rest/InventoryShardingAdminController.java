@@ -0,0 +1,35 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.InventoryShardingRequest;
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.productservice.domain.port.in.ProductUseCase;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for toggling sharded inventory on products.
+ * Access is restricted to the admin role at the API gateway.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class InventoryShardingAdminController implements InventoryShardingAdminOpenApi {
+
+    private final ProductUseCase productUseCase;
+
+    @Override
+    public ProductResponse shardInventory(@PathVariable Long id, @Valid @RequestBody InventoryShardingRequest request) {
+        log.info("Sharding inventory of product ID: {} into {} shards", id, request.shards());
+        return productUseCase.shardInventory(id, request.shards());
+    }
+
+    @Override
+    public ProductResponse unshardInventory(@PathVariable Long id) {
+        log.info("Merging inventory shards of product ID: {}", id);
+        return productUseCase.unshardInventory(id);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.InventoryShardingRequest;
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.shared.interfaces.openapi.response.ApiResourceNotFound;
+import com.ecommerce.shared.interfaces.openapi.response.ApiValidationErrors;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * OpenAPI interface for switching hot products to sharded inventory.
+ */
+@Tag(name = "Inventory sharding", description = "Sharded inventory for flash-sale products")
+@RequestMapping("/products/admin")
+public interface InventoryShardingAdminOpenApi {
+
+    @ApiValidationErrors
+    @ApiResourceNotFound
+    @Operation(summary = "Shard Product Inventory",
+            description = "Splits the inventory of a product across sub-counters, or changes their number",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "200", description = "Inventory sharded successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductResponse.class)))
+    @PutMapping(value = "/{id}/inventory-shards", produces = MediaType.APPLICATION_JSON_VALUE)
+    ProductResponse shardInventory(@Parameter(description = "ID of the product", required = true)
+                                   @PathVariable("id") Long id,
+                                   @Parameter(description = "Number of shards", required = true)
+                                   @RequestBody InventoryShardingRequest request);
+
+    @ApiResourceNotFound
+    @Operation(summary = "Unshard Product Inventory",
+            description = "Merges the inventory sub-counters of a product back into a single figure",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "200", description = "Inventory merged successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductResponse.class)))
+    @DeleteMapping(value = "/{id}/inventory-shards", produces = MediaType.APPLICATION_JSON_VALUE)
+    ProductResponse unshardInventory(@Parameter(description = "ID of the product", required = true)
+                                     @PathVariable("id") Long id);
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductBatchItemRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchItemResponse;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationResponse;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@link ProductBatchValidationRequest} and writes {@link ProductBatchValidationResponse} in the binary
+ * format described by {@link BatchValidationWireFormat}. JSON stays the default for {@code /products/batch}; this
+ * converter is only selected by its media type.
+ */
+@Component
+public class ProductBatchCborMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    public ProductBatchCborMessageConverter() {
+        super(BatchValidationWireFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return clazz == ProductBatchValidationRequest.class || clazz == ProductBatchValidationResponse.class;
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return clazz == ProductBatchValidationRequest.class && canRead(mediaType);
+    }
+
+    /**
+     * Only writes when the binary format was negotiated: unlike the default, a missing media type does not match,
+     * so JSON clients never receive CBOR.
+     */
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        return clazz == ProductBatchValidationResponse.class && mediaType != null && canWrite(mediaType);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = cborFactory.createParser(StreamUtils.nonClosing(inputMessage.getBody()))) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Batch validation request must be an array", inputMessage);
+            }
+            if (parser.nextToken() != JsonToken.VALUE_NUMBER_INT
+                    || parser.getIntValue() != BatchValidationWireFormat.VERSION) {
+                throw new HttpMessageNotReadableException("Unsupported batch validation version", inputMessage);
+            }
+            List<ProductBatchItemRequest> items = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                Long productId = readLong(parser, token, inputMessage);
+                Integer quantity = readInt(parser, parser.nextToken(), inputMessage);
+                items.add(new ProductBatchItemRequest(productId, quantity));
+            }
+            return new ProductBatchValidationRequest(items);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed batch validation request: " + e.getOriginalMessage(),
+                    e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object body, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        ProductBatchValidationResponse response = (ProductBatchValidationResponse) body;
+        try (CBORGenerator generator = cborFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            generator.writeStartArray(); // Indefinite length: items are flushed as the buffer fills up
+            generator.writeNumber(BatchValidationWireFormat.VERSION);
+            for (ProductBatchItemResponse item : response.products()) {
+                generator.writeStartArray(item, BatchValidationWireFormat.ITEM_FIELDS);
+                if (item.productId() != null) {
+                    generator.writeNumber(item.productId());
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeString(item.name());
+                generator.writeNumber(item.price());
+                generator.writeBoolean(item.isAvailable());
+                if (item.availableUnits() != null) {
+                    generator.writeNumber(item.availableUnits());
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeString(item.error());
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken token, HttpInputMessage inputMessage) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case null, default -> throw new HttpMessageNotReadableException(
+                    "Expected a product ID but found " + token, inputMessage);
+        };
+    }
+
+    private static Integer readInt(JsonParser parser, JsonToken token, HttpInputMessage inputMessage)
+            throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case null, default -> throw new HttpMessageNotReadableException(
+                    "Expected a quantity but found " + token, inputMessage);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.domain.port.in.ProductUseCase;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET answered before the controller runs, so nothing is loaded, mapped or serialized on a match:
+ * <ul>
+ *     <li>{@code GET /products/{id}}: strong ETag derived from the product revision
+ *     ({@link ProductUseCase#findRevision}), read through the product cache;</li>
+ *     <li>{@code GET /products?page} and {@code GET /products?cursor}: weak ETag derived from the page revision
+ *     ({@link ProductUseCase#findPageRevision}, {@link ProductUseCase#findCursorPageRevision}), read from a
+ *     projection of the page.</li>
+ * </ul>
+ * Product reads require a JWT, so responses may only be stored by the client ({@code private}), never by a shared
+ * cache that would serve them to other users. Other page endpoints are tagged by {@link ProductPageETagAdvice}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ProductUseCase productUseCase;
+    private final ProductCacheProperties properties;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() != ProductController.class) {
+            return true;
+        }
+        return switch (handlerMethod.getMethod().getName()) {
+            case "findById" -> checkProduct(request, response);
+            case "findAllPaginated" -> checkPage(request, response, () -> productUseCase.findPageRevision(
+                    intParameter(request, "page", 0), intParameter(request, "size", 10)));
+            case "findAllByCursor" -> checkPage(request, response, () -> productUseCase.findCursorPageRevision(
+                    request.getParameter("cursor"), intParameter(request, "size", 20),
+                    Boolean.parseBoolean(request.getParameter("estimateTotal"))));
+            default -> true;
+        };
+    }
+
+    private boolean checkProduct(HttpServletRequest request, HttpServletResponse response) {
+        Long id = productId(request);
+        if (id == null) {
+            return true; // Type mismatch, let the controller report it
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(properties.http().itemMaxAge())
+                .cachePrivate()
+                .mustRevalidate()
+                .getHeaderValue());
+        String eTag = "\"" + productUseCase.findRevision(id) + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+    private boolean checkPage(HttpServletRequest request, HttpServletResponse response, Supplier<String> revision) {
+        String eTag;
+        try {
+            eTag = "W/\"" + revision.get() + "\"";
+        } catch (NumberFormatException e) {
+            return true; // Let the controller report the invalid parameter
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(properties.http().pageMaxAge())
+                .cachePrivate()
+                .getHeaderValue());
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+    private static int intParameter(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long productId(HttpServletRequest request) {
+        var variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        try {
+            return variables != null ? Long.valueOf(variables.get("id")) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
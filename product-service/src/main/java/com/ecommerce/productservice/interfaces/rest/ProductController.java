@@ -11,7 +11,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for handling product-related HTTP requests.
@@ -23,6 +25,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController implements ProductOpenApi {
 
+    private static final String ATTRIBUTE_PREFIX = "attr.";
+
     private final ProductUseCase productUseCase;
 
     @Override
@@ -60,7 +64,7 @@ public class ProductController implements ProductOpenApi {
     //change to @PostMapping("/verify")
     @Override
     public ProductBatchValidationResponse verifyAndGetProducts(@Valid @RequestBody ProductBatchValidationRequest request) {
-        log.info("Verify Products in Batch: {}", request.toString());
+        log.debug("Verify {} Products in Batch", request.items().size());
         return productUseCase.verifyAndGetProducts(request);
     }
 
@@ -73,6 +77,51 @@ public class ProductController implements ProductOpenApi {
 
     //add new @PostMapping("/reserve")
 
+    @Override
+    public ProductCursorPageResponse findAllByCursor(@RequestParam String cursor,
+                                                     @RequestParam(defaultValue = "20") int size,
+                                                     @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("Retrieving products after cursor {} with size {}", cursor, size);
+        return productUseCase.findAllByCursor(cursor, size, estimateTotal);
+    }
+
+    @Override
+    public ProductCursorPageResponse findByCategory(@PathVariable String category,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        log.info("Browsing products of category: {}, cursor: {}, size: {}", category, cursor, size);
+        return productUseCase.findByCategory(category, cursor, size);
+    }
+
+    @Override
+    public ProductCursorPageResponse filterByAttributes(@RequestParam Map<String, String> params,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        params.forEach((name, value) -> {
+            if (name.startsWith(ATTRIBUTE_PREFIX)) {
+                attributes.put(name.substring(ATTRIBUTE_PREFIX.length()), value);
+            }
+        });
+        log.info("Filtering products by attributes: {}, cursor: {}, size: {}", attributes, cursor, size);
+        return productUseCase.findByAttributes(attributes, cursor, size, estimateTotal);
+    }
+
+    @Override
+    public ProductSearchResponse search(@RequestParam String q,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching products: {}, page: {}, size: {}", q, page, size);
+        return productUseCase.search(q, page, size);
+    }
+
+    @Override
+    public List<ProductSuggestionResponse> suggest(@RequestParam String prefix,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return productUseCase.suggest(prefix, limit);
+    }
+
     @Override
     public ProductPageResponse searchProductsByColor(@PathVariable String color,
                                                      @RequestParam(defaultValue = "0") int page,
@@ -82,4 +131,12 @@ public class ProductController implements ProductOpenApi {
         return new ProductPageResponse(paginatedList);
     }
 
+    @Override
+    public ProductCursorPageResponse searchProductsByColorByCursor(@PathVariable String color,
+                                                                   @RequestParam String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        log.info("Searching products by color: {}, cursor: {}, size: {}", color, cursor, size);
+        return productUseCase.findByColorByCursor(color, cursor, size, estimateTotal);
+    }
 }
@@ -0,0 +1,35 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductImportFormat;
+import com.ecommerce.productservice.application.dto.ProductImportResponse;
+import com.ecommerce.productservice.domain.port.in.ProductImportUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk product imports.
+ * Access is restricted to the admin role at the API gateway.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ProductImportAdminController implements ProductImportAdminOpenApi {
+
+    private final ProductImportUseCase productImportUseCase;
+
+    @Override
+    public ProductImportResponse importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                InputStream body) {
+        ProductImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ProductImportFormat.NDJSON
+                : ProductImportFormat.CSV;
+        log.info("Importing products from {} input", format);
+        return productImportUseCase.importProducts(body, format);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductImportResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.InputStream;
+
+/**
+ * OpenAPI interface for bulk product onboarding.
+ */
+@Tag(name = "Product import", description = "Bulk creation and update of products")
+@RequestMapping("/products/admin")
+public interface ProductImportAdminOpenApi {
+
+    String TEXT_CSV_VALUE = "text/csv";
+
+    @Operation(summary = "Import Products",
+            description = "Creates or updates (matched by name) the products of an NDJSON file (one product " +
+                    "request per line) or a CSV file (header with the product request field names, `categories` " +
+                    "separated by `|`, `additionalData` as JSON). The body is streamed and written in chunks, each " +
+                    "in its own transaction; invalid rows are reported and skipped.",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "200", description = "Import completed, possibly with rejected rows",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductImportResponse.class)))
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    ProductImportResponse importProducts(@Parameter(hidden = true)
+                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                         @RequestBody(description = "Products to import", required = true,
+                                                 content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                                                         @Content(mediaType = TEXT_CSV_VALUE)})
+                                         InputStream body);
+}
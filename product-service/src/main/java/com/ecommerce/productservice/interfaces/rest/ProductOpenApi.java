@@ -1,6 +1,7 @@
 package com.ecommerce.productservice.interfaces.rest;
 
 import com.ecommerce.productservice.application.dto.*;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
 import com.ecommerce.shared.interfaces.openapi.CrudOpenApi;
 import com.ecommerce.shared.interfaces.openapi.ListableCrudOpenApi;
 import com.ecommerce.shared.interfaces.openapi.response.ApiValidationErrors;
@@ -16,6 +17,7 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 //@RequestMapping("/api/products")
 @RequestMapping("/products")
@@ -73,9 +75,12 @@ public interface ProductOpenApi extends CrudOpenApi<ProductResponse, ProductRequ
                                          @RequestParam(defaultValue = "10") int size);
 
     @ApiValidationErrors
-    @Operation(summary = "Verify and Get Products in Batch", description = "Retrieves all products verified in Inventory",
+    @Operation(summary = "Verify and Get Products in Batch", description = "Retrieves all products verified in " +
+            "Inventory. Also accepts and returns the compact binary format of BatchValidationWireFormat " +
+            "(" + BatchValidationWireFormat.MEDIA_TYPE_VALUE + ") used by order-service.",
             security = @SecurityRequirement(name = "security_auth"))
-    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, BatchValidationWireFormat.MEDIA_TYPE_VALUE})
     @ResponseStatus(HttpStatus.OK)
     ProductBatchValidationResponse verifyAndGetProducts(@Parameter(description = "Batch product resource details", required = true)
                                                         @RequestBody ProductBatchValidationRequest request);
@@ -99,4 +104,105 @@ public interface ProductOpenApi extends CrudOpenApi<ProductResponse, ProductRequ
                                               @Parameter(description = "Number of items per page", example = "10")
                                               @RequestParam(defaultValue = "10") int size);
 
+    @Operation(summary = "Search Products",
+            description = "Full-text search on product name and description, best matches first. Every word of " +
+                    "the query must match the start of a word of the product.",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(
+            responseCode = "200", description = "Products retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductSearchResponse.class)))
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    ProductSearchResponse search(@Parameter(description = "Words to search for", required = true, example = "smart pho")
+                                 @RequestParam String q,
+                                 @Parameter(description = "Page number for pagination", example = "0")
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @Parameter(description = "Number of items per page (max 100)", example = "20")
+                                 @RequestParam(defaultValue = "20") int size);
+
+    @Operation(summary = "Suggest Products", description = "Product name autocomplete",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    List<ProductSuggestionResponse> suggest(@Parameter(description = "Text typed so far", required = true, example = "sma")
+                                            @RequestParam String prefix,
+                                            @Parameter(description = "Maximum number of suggestions (max 20)", example = "10")
+                                            @RequestParam(defaultValue = "10") int limit);
+
+    @Operation(summary = "Browse Products by Category",
+            description = "Retrieves the products of a category ordered by ID; pass `nextCursor` as `cursor` to get " +
+                    "the next page.",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(
+            responseCode = "200", description = "Products retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductCursorPageResponse.class)))
+    @GetMapping(value = "/category/{category}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    ProductCursorPageResponse findByCategory(@Parameter(description = "Category to browse", required = true, example = "Electronics")
+                                             @PathVariable String category,
+                                             @Parameter(description = "Continuation token from the previous page")
+                                             @RequestParam(required = false) String cursor,
+                                             @Parameter(description = "Number of items per page (max 100)", example = "20")
+                                             @RequestParam(defaultValue = "20") int size);
+
+    @Operation(summary = "Filter Products by Attributes",
+            description = "Retrieves products whose additional data contains every `attr.<name>=<value>` query " +
+                    "parameter (e.g. `?attr.color=Black&attr.storage=128GB`). Values are compared as strings. " +
+                    "Results are ordered by ID; pass `nextCursor` as `cursor` to get the next page.",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(
+            responseCode = "200", description = "Products retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductCursorPageResponse.class)))
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    ProductCursorPageResponse filterByAttributes(@Parameter(hidden = true)
+                                                 @RequestParam Map<String, String> params,
+                                                 @Parameter(description = "Continuation token from the previous page")
+                                                 @RequestParam(required = false) String cursor,
+                                                 @Parameter(description = "Number of items per page (max 100)", example = "20")
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @Parameter(description = "Include an estimated total from database statistics")
+                                                 @RequestParam(defaultValue = "false") boolean estimateTotal);
+
+    @Operation(summary = "Retrieve All Products by Cursor",
+            description = "Keyset-paginated alternative to the page/size listing, selected by the presence of the " +
+                    "`cursor` parameter: pass an empty `cursor` for the first page, then the returned `nextCursor`. " +
+                    "Deep pages are as fast as the first one and no exact count is computed.",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(
+            responseCode = "200", description = "Products retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductCursorPageResponse.class)))
+    @GetMapping(params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    ProductCursorPageResponse findAllByCursor(@Parameter(description = "Continuation token from the previous page, empty for the first page", required = true)
+                                              @RequestParam String cursor,
+                                              @Parameter(description = "Number of items per page (max 100)", example = "20")
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @Parameter(description = "Include an estimated total from database statistics")
+                                              @RequestParam(defaultValue = "false") boolean estimateTotal);
+
+    @Operation(summary = "Get Products by Color by Cursor",
+            description = "Keyset-paginated variant of the color search, selected by the presence of the `cursor` " +
+                    "parameter (empty for the first page).",
+            security = @SecurityRequirement(name = "security_auth"))
+    @ApiResponse(
+            responseCode = "200", description = "Products retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ProductCursorPageResponse.class)))
+    @GetMapping(value = "/color/{color}", params = "cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    ProductCursorPageResponse searchProductsByColorByCursor(@Parameter(description = "Color products", required = true)
+                                                            @PathVariable String color,
+                                                            @Parameter(description = "Continuation token from the previous page, empty for the first page", required = true)
+                                                            @RequestParam String cursor,
+                                                            @Parameter(description = "Number of items per page (max 100)", example = "20")
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @Parameter(description = "Include an estimated total from database statistics")
+                                                            @RequestParam(defaultValue = "false") boolean estimateTotal);
+
 }
\ No newline at end of file
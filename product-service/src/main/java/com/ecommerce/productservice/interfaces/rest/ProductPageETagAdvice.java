@@ -0,0 +1,90 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductCursorPageResponse;
+import com.ecommerce.productservice.application.dto.ProductPageResponse;
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.productservice.application.dto.ProductSearchResponse;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conditional GET for the filtered product list endpoints (color, attributes, category, search): sets a weak ETag
+ * computed from the page (ID, last update and inventory of each product, plus the paging fields) and answers
+ * {@code 304 Not Modified} when it matches {@code If-None-Match}. The tag is computed from the loaded page, so a
+ * match saves the serialization and the transfer only; the unfiltered listings are answered before loading by
+ * {@link ProductConditionalGetInterceptor}, whose tag is left untouched. The tag is weak because it is derived from
+ * the page contents rather than from a version of the page itself.
+ */
+@RestControllerAdvice(assignableTypes = ProductController.class)
+@RequiredArgsConstructor
+public class ProductPageETagAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Set<Class<?>> PAGE_TYPES =
+            Set.of(ProductPageResponse.class, ProductCursorPageResponse.class, ProductSearchResponse.class);
+
+    private final ProductCacheProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return PAGE_TYPES.contains(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || request.getMethod() != HttpMethod.GET) {
+            return body;
+        }
+        String fingerprint = switch (body) {
+            case ProductPageResponse page ->
+                    fingerprint(page.content(), page.pageNumber(), page.pageSize(), page.totalElements());
+            case ProductCursorPageResponse page ->
+                    fingerprint(page.content(), page.size(), page.nextCursor(), page.estimatedTotal());
+            case ProductSearchResponse page ->
+                    fingerprint(page.content(), page.pageNumber(), page.pageSize(), page.hasNext());
+            case null, default -> null;
+        };
+        if (fingerprint == null || servletResponse.getServletResponse().getHeader(HttpHeaders.ETAG) != null) {
+            return body;
+        }
+        servletResponse.getServletResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(properties.http().pageMaxAge()).cachePrivate().getHeaderValue());
+        ServletWebRequest webRequest =
+                new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse());
+        return webRequest.checkNotModified("W/\"" + fingerprint + "\"") ? null : body;
+    }
+
+    private static String fingerprint(List<ProductResponse> content, Object... paging) {
+        StringBuilder builder = new StringBuilder(Arrays.toString(paging));
+        for (ProductResponse product : content) {
+            builder.append('|').append(product.id())
+                    .append(',').append(product.updatedAt())
+                    .append(',').append(product.inventory());
+        }
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
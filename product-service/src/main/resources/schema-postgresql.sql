@@ -0,0 +1,18 @@
+-- Indexes Hibernate cannot declare. Runs after ddl-auto (spring.jpa.defer-datasource-initialization) on every start,
+-- so every statement must be idempotent.
+
+-- Attribute filters (additional_data @> '{"color": "Black"}'); jsonb_path_ops only supports @>, but is smaller
+-- and faster than the default jsonb_ops
+CREATE INDEX IF NOT EXISTS idx_products_additional_data ON products USING GIN (additional_data jsonb_path_ops);
+
+-- Full-text search: maintained by Postgres on every write, name ranked above description
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Reservation statuses: Hibernate only writes the enum check constraint when it creates the table, refresh it so
+-- statuses added later (REJECTED) are accepted
+ALTER TABLE inventory_reservations DROP CONSTRAINT IF EXISTS inventory_reservations_status_check;
+ALTER TABLE inventory_reservations ADD CONSTRAINT inventory_reservations_status_check
+    CHECK (status IN ('ACTIVE', 'COMMITTED', 'RELEASED', 'EXPIRED', 'REJECTED'));
@@ -0,0 +1,35 @@
+package com.ecommerce.productservice.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectMapTest {
+
+    @Test
+    void findsEveryKeyIncludingCollidingOnes() {
+        LongObjectMap<String> map = new LongObjectMap<>(1000);
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key << 20, "product-" + key); // Same low bits for every key
+        }
+
+        for (long key = 1; key <= 1000; key++) {
+            assertThat(map.get(key << 20)).isEqualTo("product-" + key);
+        }
+        assertThat(map.get(42L)).isNull();
+        assertThat(map.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void replacesExistingKeyAndRejectsMoreKeysThanExpected() {
+        LongObjectMap<String> map = new LongObjectMap<>(2);
+        map.put(1L, "first");
+        map.put(2L, "second");
+        map.put(1L, "replaced");
+
+        assertThat(map.get(1L)).isEqualTo("replaced");
+        assertThat(map.size()).isEqualTo(2);
+        assertThatThrownBy(() -> map.put(3L, "third")).isInstanceOf(IllegalStateException.class);
+    }
+}
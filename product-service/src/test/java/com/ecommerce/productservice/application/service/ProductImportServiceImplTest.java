@@ -0,0 +1,178 @@
+package com.ecommerce.productservice.application.service;
+
+import com.ecommerce.productservice.application.dto.ProductImportError;
+import com.ecommerce.productservice.application.dto.ProductImportFormat;
+import com.ecommerce.productservice.application.dto.ProductImportResponse;
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductMapper;
+import com.ecommerce.productservice.infrastructure.properties.ProductImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks how the import reports rows it cannot take: malformed and invalid rows, names repeated within and across
+ * chunks, chunks the database rejects, and the cap on listed errors.
+ */
+class ProductImportServiceImplTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final ProductRepositoryPort repository = mock(ProductRepositoryPort.class);
+    private final List<List<String>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.upsertAllByName(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            chunks.add(products.stream().map(Product::name).toList());
+            return LongStream.rangeClosed(1, products.size()).boxed().toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void rejectsMalformedAndInvalidNdjsonRowsAndImportsTheRest() {
+        ProductImportResponse response = importProducts(3, 10, ProductImportFormat.NDJSON, """
+                {"name":"Phone","price":10,"inventory":1,"categories":["electronics"]}
+                {"name":"Broken",
+                
+                {"name":"Free","price":-1,"inventory":1,"categories":["misc"]}
+                {"name":"Watch","price":20,"inventory":2,"categories":["electronics"]}
+                """);
+
+        assertThat(response.rows()).isEqualTo(4);
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        // Blank lines are skipped but still count for row numbers
+        assertThat(response.errors()).extracting(ProductImportError::row).containsExactly(2L, 4L);
+        assertThat(response.errors().get(0).message()).startsWith("Invalid JSON");
+        assertThat(response.errors().get(1).message()).isEqualTo("price: price must be zero or positive");
+        assertThat(chunks).containsExactly(List.of("Phone", "Watch"));
+    }
+
+    @Test
+    void rejectsCsvRowsWithBadNumbersAndStopsAtASyntaxError() {
+        ProductImportResponse response = importProducts(10, 10, ProductImportFormat.CSV, """
+                name,price,inventory,categories
+                Phone,10,1,electronics|mobile
+                Watch,cheap,1,electronics
+                Tablet,30,1,electronics
+                "Unterminated,1,1,misc
+                Laptop,40,1,electronics
+                """);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).extracting(ProductImportError::row).containsExactly(2L, 4L);
+        assertThat(response.errors().get(0).message()).isEqualTo("price and inventory must be numbers");
+        assertThat(response.errors().get(1).message()).startsWith("Invalid CSV, import stopped");
+        assertThat(chunks).containsExactly(List.of("Phone", "Tablet"));
+    }
+
+    @Test
+    void lastRowOfARepeatedNameWinsWithinAChunk() {
+        ProductImportResponse response = importProducts(10, 10, ProductImportFormat.CSV, """
+                name,price,inventory,categories
+                Phone,10,1,electronics
+                Watch,20,1,electronics
+                Phone,15,1,electronics
+                """);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).containsExactly(
+                new ProductImportError(1, "Duplicate name, row 3 is imported instead"));
+        assertThat(chunks).containsExactly(List.of("Phone", "Watch"));
+    }
+
+    @Test
+    void repeatedNameAcrossChunksIsWrittenByEachChunk() {
+        ProductImportResponse response = importProducts(2, 10, ProductImportFormat.CSV, """
+                name,price,inventory,categories
+                Phone,10,1,electronics
+                Watch,20,1,electronics
+                Phone,15,1,electronics
+                """);
+
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.failed()).isZero();
+        assertThat(chunks).containsExactly(List.of("Phone", "Watch"), List.of("Phone"));
+    }
+
+    @Test
+    void splitsRowsIntoChunksOfTheConfiguredSize() {
+        StringBuilder csv = new StringBuilder("name,price,inventory,categories\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append("Product ").append(i).append(",1,1,misc\n");
+        }
+
+        ProductImportResponse response = importProducts(2, 10, ProductImportFormat.CSV, csv.toString());
+
+        assertThat(response.imported()).isEqualTo(5);
+        assertThat(chunks).containsExactly(List.of("Product 1", "Product 2"), List.of("Product 3", "Product 4"),
+                List.of("Product 5"));
+    }
+
+    @Test
+    void rejectedChunkIsRetriedRowByRowAndOnlyTheOffendingRowFails() {
+        doAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(product -> product.name().equals("Watch"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            chunks.add(products.stream().map(Product::name).toList());
+            return LongStream.rangeClosed(1, products.size()).boxed().toList();
+        }).when(repository).upsertAllByName(anyList());
+
+        ProductImportResponse response = importProducts(2, 10, ProductImportFormat.CSV, """
+                name,price,inventory,categories
+                Phone,10,1,electronics
+                Watch,20,1,electronics
+                Tablet,30,1,electronics
+                """);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.errors()).containsExactly(
+                new ProductImportError(2, "Rejected by the database: value too long"));
+        assertThat(chunks).containsExactly(List.of("Phone"), List.of("Tablet"));
+    }
+
+    @Test
+    void countsErrorsBeyondTheReportedOnes() {
+        ProductImportResponse response = importProducts(10, 2, ProductImportFormat.NDJSON, """
+                not json
+                not json
+                not json
+                """);
+
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.errors()).hasSize(2);
+        assertThat(response.errorsTruncated()).isTrue();
+        verifyNoInteractions(repository);
+    }
+
+    private ProductImportResponse importProducts(int chunkSize, int maxReportedErrors, ProductImportFormat format,
+                                                 String input) {
+        ProductImportServiceImpl service = new ProductImportServiceImpl(repository, new ProductMapper(),
+                validatorFactory.getValidator(), new ObjectMapper(),
+                new ProductImportProperties(chunkSize, maxReportedErrors));
+        return service.importProducts(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.productservice.application.service;
+
+import com.ecommerce.productservice.domain.port.out.OrderEventPublisherPort;
+import com.ecommerce.productservice.domain.port.out.ProductEventPublisherPort;
+import com.ecommerce.productservice.domain.port.out.ProductSnapshotPort;
+import com.ecommerce.productservice.domain.port.out.ProductSuggestPort;
+import com.ecommerce.productservice.infrastructure.adapter.cache.ProductCache;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductEntityMapper;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.mapper.ProductMapper;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.InventoryReservationStore;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.InventoryShardStore;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductCountEstimator;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductImportStore;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductJpaRepository;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductRepositoryAdapter;
+import com.ecommerce.productservice.infrastructure.properties.InventoryReservationProperties;
+import com.ecommerce.productservice.infrastructure.properties.InventoryShardingProperties;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a rejected reservation commits: the {@code REJECTED} ledger lines must survive so that the CANCEL
+ * following the failed validation does not return stock that was never held.
+ * Runs the service, adapter and ledger store against H2 in PostgreSQL mode, outside a test transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product_reservation_db;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductApplicationServiceImpl.class, ProductRepositoryAdapter.class, InventoryReservationStore.class,
+        ProductEntityMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationRejectionTest {
+
+    private static final long UNKNOWN_PRODUCT_ID = 999_999L;
+
+    @Autowired
+    private ProductApplicationService service;
+
+    @Autowired
+    private ProductJpaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private InventoryShardStore shardStore;
+    @MockitoBean
+    private ProductCache productCache;
+    @MockitoBean
+    private ObjectMapper objectMapper;
+    @MockitoBean
+    private ProductCountEstimator countEstimator;
+    @MockitoBean
+    private ProductImportStore importStore;
+    @MockitoBean
+    private OrderEventPublisherPort eventPublisherPort;
+    @MockitoBean
+    private ProductEventPublisherPort productEventPublisher;
+    @MockitoBean
+    private ProductMapper mapper;
+    @MockitoBean
+    private InventoryShardingProperties shardingProperties;
+    @MockitoBean
+    private InventoryReservationProperties reservationProperties;
+    @MockitoBean
+    private ProductSuggestPort suggestPort;
+    @MockitoBean
+    private ProductSnapshotPort snapshotPort;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        ProductEntity product = new ProductEntity();
+        product.setName("Phone");
+        product.setPrice(BigDecimal.TEN);
+        product.setInventory(5);
+        productId = repository.save(product).getId();
+        when(reservationProperties.ttl()).thenReturn(Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM inventory_reservations");
+        repository.deleteAll();
+    }
+
+    @Test
+    void rejectionCommitsRejectedLinesAndUndoesHeldStock() {
+        // An unknown product is neither a row nor sharded: the shards reject it as well
+        when(shardStore.reserve(any())).thenReturn(List.of(UNKNOWN_PRODUCT_ID));
+        OrderEventPayload order = order(new OrderEventPayload.OrderItemPayload(productId, 2),
+                new OrderEventPayload.OrderItemPayload(UNKNOWN_PRODUCT_ID, 1));
+
+        service.validateAndReserveStock(order);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT status FROM inventory_reservations WHERE order_id = ?", String.class, order.id()))
+                .containsExactly("REJECTED", "REJECTED");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT reserved FROM products WHERE id = ?", Integer.class, productId)).isZero();
+        verify(eventPublisherPort).publishValidationFailed(order);
+        verify(eventPublisherPort, never()).publishValidationSucceeded(any());
+    }
+
+    @Test
+    void redeliveredRejectionIsRecordedOnce() {
+        when(shardStore.reserve(any())).thenReturn(List.of(UNKNOWN_PRODUCT_ID));
+        OrderEventPayload order = order(new OrderEventPayload.OrderItemPayload(UNKNOWN_PRODUCT_ID, 1));
+
+        service.validateAndReserveStock(order);
+        service.validateAndReserveStock(order);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT status FROM inventory_reservations WHERE order_id = ?", String.class, order.id()))
+                .containsExactly("REJECTED");
+    }
+
+    private static OrderEventPayload order(OrderEventPayload.OrderItemPayload... items) {
+        return new OrderEventPayload(UUID.randomUUID(), Set.of(items));
+    }
+}
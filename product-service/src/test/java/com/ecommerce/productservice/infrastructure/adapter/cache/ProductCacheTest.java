@@ -0,0 +1,174 @@
+package com.ecommerce.productservice.infrastructure.adapter.cache;
+
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.port.out.ProductEventPublisherPort;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the two tiers against the embedded {@link InMemorySharedProductCache}, which stands in for Redis: a load that
+ * overlaps a write must not leave the old row in either tier, and invalidations are published once per commit.
+ */
+class ProductCacheTest {
+
+    private static final Duration EVICTION_DELAY = Duration.ofMillis(50);
+
+    private final ProductCacheProperties properties = new ProductCacheProperties(
+            new ProductCacheProperties.Local(100, Duration.ofMinutes(5)),
+            new ProductCacheProperties.Shared("in-memory", Duration.ofMinutes(30), 1000, "product:",
+                    EVICTION_DELAY),
+            null);
+    private final SharedProductCache shared = new InMemorySharedProductCache(properties);
+    private final ProductEventPublisherPort eventPublisher = mock(ProductEventPublisherPort.class);
+    private final ProductCache cache = new ProductCache(shared, eventPublisher, properties, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsOnceAndServesFromL2AfterLocalEviction() {
+        CountingLoader loader = new CountingLoader(product(1L, 5));
+
+        assertThat(cache.getAll(List.of(1L), loader)).containsKey(1L);
+        assertThat(cache.getAll(List.of(1L), loader)).containsKey(1L);
+        cache.evictLocal(List.of(1L));
+        assertThat(cache.getAll(List.of(1L), loader).get(1L).inventory()).isEqualTo(5);
+
+        assertThat(loader.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loadOverlappingAnEvictionCachesNothing() {
+        CountingLoader loader = new CountingLoader(product(1L, 5));
+        // The write commits and evicts while the read is still loading the old row
+        Function<Set<Long>, Map<Long, Product>> overlapping = ids -> {
+            Map<Long, Product> old = loader.apply(ids);
+            cache.evict(1L);
+            return old;
+        };
+
+        assertThat(cache.getAll(List.of(1L), overlapping).get(1L).inventory()).isEqualTo(5);
+
+        assertThat(shared.getAll(List.of(1L))).isEmpty();
+        loader.rows.put(1L, product(1L, 3));
+        assertThat(cache.getAll(List.of(1L), loader).get(1L).inventory()).isEqualTo(3);
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void loadOutlivingTheRememberedEvictionCachesNothing() {
+        Duration remembered = Duration.ofMillis(20);
+        ProductCacheProperties shortLived = new ProductCacheProperties(
+                new ProductCacheProperties.Local(100, remembered), properties.l2(), null);
+        ProductCache cache = new ProductCache(shared, eventPublisher, shortLived, new SimpleMeterRegistry());
+        CountingLoader loader = new CountingLoader(product(1L, 5));
+        // The eviction of product 1 is forgotten before the load that overlapped it completes
+        Function<Set<Long>, Map<Long, Product>> overlapping = ids -> {
+            Map<Long, Product> old = loader.apply(ids);
+            cache.evict(1L);
+            try {
+                Thread.sleep(remembered.multipliedBy(2).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cache.evictLocal(List.of(2L));
+            return old;
+        };
+
+        cache.getAll(List.of(1L), overlapping);
+
+        assertThat(shared.getAll(List.of(1L))).isEmpty();
+    }
+
+    @Test
+    void commitPublishesOneInvalidationAndEvictsL2AgainAfterTheDelay() throws InterruptedException {
+        CountingLoader loader = new CountingLoader(product(1L, 5), product(2L, 7));
+        cache.getAll(List.of(1L, 2L), loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAll(List.of(1L, 2L));
+        verify(eventPublisher, never()).publishInventoryUpdated(any());
+        // Another instance puts the old row back before it receives the invalidation
+        shared.putAll(List.of(product(1L, 5)));
+        commit();
+
+        verify(eventPublisher).publishInventoryUpdated(Set.of(1L, 2L));
+        awaitEvicted(1L);
+    }
+
+    @Test
+    void rollbackEvictsWithoutPublishing() {
+        CountingLoader loader = new CountingLoader(product(1L, 5));
+        cache.getAll(List.of(1L), loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(eventPublisher);
+        cache.getAll(List.of(1L), loader);
+        assertThat(loader.calls.get()).isEqualTo(2);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private void awaitEvicted(Long id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!shared.getAll(List.of(id)).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(EVICTION_DELAY.toMillis());
+        }
+        assertThat(shared.getAll(List.of(id))).isEmpty();
+    }
+
+    private static Product product(Long id, int inventory) {
+        return new Product(id, "Product " + id, null, BigDecimal.TEN, inventory, null, Set.of(), Map.of(),
+                null, null, 1L);
+    }
+
+    private static final class CountingLoader implements Function<Set<Long>, Map<Long, Product>> {
+
+        private final Map<Long, Product> rows = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(Product... products) {
+            for (Product product : products) {
+                rows.put(product.id(), product);
+            }
+        }
+
+        @Override
+        public Map<Long, Product> apply(Set<Long> ids) {
+            calls.incrementAndGet();
+            Map<Long, Product> found = new HashMap<>(rows);
+            found.keySet().retainAll(ids);
+            return found;
+        }
+    }
+}
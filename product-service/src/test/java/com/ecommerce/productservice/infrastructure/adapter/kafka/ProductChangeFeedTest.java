@@ -0,0 +1,152 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductChangeFeed.ProductChange;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.data.PojoCloudEventData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the change feed survives what an in-memory queue would lose: changes are recorded in the transaction
+ * of the change, and stay pending until the broker acknowledged their event.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product_change_feed_db;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProductChangeFeed.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductChangeFeedTest {
+
+    private static final long DELETED_PRODUCT_ID = 999_999L;
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    @Autowired
+    private ProductJpaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private KafkaTemplate<String, CloudEvent> kafkaTemplate;
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        ProductEntity product = new ProductEntity();
+        product.setName("Phone");
+        product.setPrice(BigDecimal.TEN);
+        product.setInventory(5);
+        productId = repository.save(product).getId();
+        jdbcTemplate.update("UPDATE products SET reserved = 2 WHERE id = ?", productId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_change_outbox");
+        repository.deleteAll();
+    }
+
+    @Test
+    void publishesTheLatestStateOfEachChangedProductOnce() {
+        acknowledgeSends();
+        transactionTemplate.executeWithoutResult(status -> changeFeed.markChanged(List.of(productId)));
+        transactionTemplate.executeWithoutResult(status -> changeFeed.markChanged(List.of(productId, DELETED_PRODUCT_ID)));
+
+        changeFeed.flush();
+
+        assertThat(sentChanges()).containsExactlyInAnyOrder(
+                new ProductChange(productId, new BigDecimal("10.00"), 3, 0L, null, false),
+                new ProductChange(DELETED_PRODUCT_ID, null, null, null, null, true));
+        assertThat(pendingRows()).isZero();
+    }
+
+    @Test
+    void rolledBackChangeIsNotPublished() {
+        transactionTemplate.executeWithoutResult(status -> {
+            changeFeed.markChanged(List.of(productId));
+            status.setRollbackOnly();
+        });
+
+        changeFeed.flush();
+
+        assertThat(pendingRows()).isZero();
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void unacknowledgedEventStaysPendingUntilTheNextFlush() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(CloudEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        transactionTemplate.executeWithoutResult(status -> changeFeed.markChanged(List.of(productId)));
+
+        changeFeed.flush();
+        assertThat(pendingRows()).isEqualTo(1);
+
+        acknowledgeSends();
+        changeFeed.flush();
+
+        assertThat(pendingRows()).isZero();
+        verify(kafkaTemplate, times(2)).send(anyString(), eq(productId.toString()), any(CloudEvent.class));
+    }
+
+    private void acknowledgeSends() {
+        SendResult<String, CloudEvent> result = mock();
+        when(kafkaTemplate.send(anyString(), anyString(), any(CloudEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(result));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProductChange> sentChanges() {
+        ArgumentCaptor<CloudEvent> events = ArgumentCaptor.forClass(CloudEvent.class);
+        verify(kafkaTemplate, atLeastOnce()).send(anyString(), anyString(), events.capture());
+        return events.getAllValues().stream()
+                .map(event -> ((PojoCloudEventData<ProductChange>) event.getData()).getValue())
+                .map(change -> new ProductChange(change.id(), change.price(), change.inventory(), change.version(),
+                        null, change.deleted()))
+                .toList();
+    }
+
+    private int pendingRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_change_outbox", Integer.class);
+    }
+}
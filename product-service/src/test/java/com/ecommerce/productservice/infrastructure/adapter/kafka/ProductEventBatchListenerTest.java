@@ -0,0 +1,123 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.application.service.ProductApplicationService;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import com.ecommerce.shared.domain.event.SharedOrderEvent;
+import io.cloudevents.CloudEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which records of a batch are applied before a failure, since the batch is redelivered from the failed
+ * index: grouped reservations and restocks must never be applied ahead of a record that is redelivered.
+ */
+class ProductEventBatchListenerTest {
+
+    private final ProductApplicationService productService = mock(ProductApplicationService.class);
+    private final ProductEventListener recordListener = mock(ProductEventListener.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final ProductEventBatchListener listener = new ProductEventBatchListener(productService, recordListener);
+
+    private final List<ConsumerRecord<String, CloudEvent>> records = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (SharedOrderEvent event : SharedOrderEvent.values()) {
+            when(recordListener.eventType(event.name())).thenReturn(event);
+        }
+    }
+
+    @Test
+    void appliesRecordsOutsideTheGroupBeforeTheGroup() {
+        OrderEventPayload created = add(SharedOrderEvent.ORDER_CREATED, UUID.randomUUID());
+        CloudEvent payment = record(SharedOrderEvent.PAYMENT_SUCCEEDED, UUID.randomUUID());
+        OrderEventPayload cancelled = add(SharedOrderEvent.CANCEL, UUID.randomUUID());
+
+        listener.handleEvents(records, acknowledgment);
+
+        InOrder inOrder = inOrder(recordListener, productService, acknowledgment);
+        inOrder.verify(recordListener).handleEvent(payment, SharedOrderEvent.PAYMENT_SUCCEEDED.name());
+        inOrder.verify(productService).reserveAndRestockAll(List.of(created), List.of(cancelled));
+        inOrder.verify(acknowledgment).acknowledge();
+        verify(recordListener, times(1)).handleEvent(any(), any());
+    }
+
+    @Test
+    void failureOutsideTheGroupRedeliversFromTheFirstGroupedRecordWithoutApplyingTheGroup() {
+        add(SharedOrderEvent.ORDER_CREATED, UUID.randomUUID());
+        CloudEvent payment = record(SharedOrderEvent.PAYMENT_SUCCEEDED, UUID.randomUUID());
+        add(SharedOrderEvent.ORDER_CREATED, UUID.randomUUID());
+        doThrow(new IllegalStateException("database down"))
+                .when(recordListener).handleEvent(payment, SharedOrderEvent.PAYMENT_SUCCEEDED.name());
+
+        assertThatThrownBy(() -> listener.handleEvents(records, acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isZero());
+        verify(productService, never()).reserveAndRestockAll(any(), any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void fallbackFailureRedeliversFromTheFailedGroupedRecord() {
+        add(SharedOrderEvent.ORDER_CREATED, UUID.randomUUID());
+        CloudEvent payment = record(SharedOrderEvent.PAYMENT_SUCCEEDED, UUID.randomUUID());
+        CloudEvent failing = record(SharedOrderEvent.ORDER_CREATED, UUID.randomUUID());
+        doThrow(new IllegalStateException("insufficient inventory"))
+                .when(productService).reserveAndRestockAll(any(), any());
+        doThrow(new IllegalStateException("database down"))
+                .when(recordListener).handleEvent(failing, SharedOrderEvent.ORDER_CREATED.name());
+
+        assertThatThrownBy(() -> listener.handleEvents(records, acknowledgment))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(2));
+        InOrder inOrder = inOrder(recordListener, productService);
+        inOrder.verify(recordListener).handleEvent(payment, SharedOrderEvent.PAYMENT_SUCCEEDED.name());
+        inOrder.verify(productService).reserveAndRestockAll(any(), any());
+        inOrder.verify(recordListener).handleEvent(records.get(0).value(), SharedOrderEvent.ORDER_CREATED.name());
+        inOrder.verify(recordListener).handleEvent(failing, SharedOrderEvent.ORDER_CREATED.name());
+    }
+
+    @Test
+    void repeatedOrderIsProcessedRecordByRecordInOffsetOrder() {
+        UUID orderId = UUID.randomUUID();
+        CloudEvent created = record(SharedOrderEvent.ORDER_CREATED, orderId);
+        CloudEvent cancelled = record(SharedOrderEvent.CANCEL, orderId);
+
+        listener.handleEvents(records, acknowledgment);
+
+        InOrder inOrder = inOrder(recordListener, acknowledgment);
+        inOrder.verify(recordListener).handleEvent(created, SharedOrderEvent.ORDER_CREATED.name());
+        inOrder.verify(recordListener).handleEvent(cancelled, SharedOrderEvent.CANCEL.name());
+        inOrder.verify(acknowledgment).acknowledge();
+        verify(productService, never()).reserveAndRestockAll(any(), any());
+    }
+
+    private OrderEventPayload add(SharedOrderEvent event, UUID orderId) {
+        CloudEvent cloudEvent = record(event, orderId);
+        return recordListener.extractOrderPayloadFromEvent(cloudEvent).orElseThrow();
+    }
+
+    private CloudEvent record(SharedOrderEvent event, UUID orderId) {
+        CloudEvent cloudEvent = mock(CloudEvent.class);
+        OrderEventPayload payload = new OrderEventPayload(orderId,
+                Set.of(new OrderEventPayload.OrderItemPayload(1L, 1)));
+        when(recordListener.extractOrderPayloadFromEvent(cloudEvent)).thenReturn(Optional.of(payload));
+        records.add(new ConsumerRecord<>(event.name(), 0, records.size(), orderId.toString(), cloudEvent));
+        return cloudEvent;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.application.service.ProductApplicationService;
+import com.ecommerce.shared.domain.event.OrderEventPayload;
+import com.ecommerce.shared.domain.event.SharedOrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that only validations given up on after their retries are reported to the saga as failed, and only once:
+ * a failure that is still being retried must not produce a result.
+ */
+class ProductEventListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProductApplicationService productService = mock(ProductApplicationService.class);
+    private final ProductEventListener listener = new ProductEventListener(productService, objectMapper);
+
+    private final OrderEventPayload order = new OrderEventPayload(UUID.randomUUID(),
+            Set.of(new OrderEventPayload.OrderItemPayload(1L, 2)));
+
+    @Test
+    void reportsExhaustedValidationAsFailed() throws Exception {
+        listener.onRetriesExhausted(record(SharedOrderEvent.ORDER_CREATED));
+        listener.onRetriesExhausted(record(SharedOrderEvent.RETRY_VALIDATION));
+
+        verify(productService, times(2)).rejectValidation(order);
+    }
+
+    @Test
+    void leavesOtherExhaustedEventsToTheDeadLetterTopic() throws Exception {
+        listener.onRetriesExhausted(record(SharedOrderEvent.PAYMENT_SUCCEEDED));
+        listener.onRetriesExhausted(record(SharedOrderEvent.CANCEL));
+
+        verify(productService, never()).rejectValidation(any());
+    }
+
+    @Test
+    void ignoresUndeserializableRecords() {
+        listener.onRetriesExhausted(new ConsumerRecord<>(SharedOrderEvent.ORDER_CREATED.getTopic(), 0, 0, "key", null));
+
+        verifyNoInteractions(productService);
+    }
+
+    private ConsumerRecord<String, CloudEvent> record(SharedOrderEvent event) throws Exception {
+        CloudEvent cloudEvent = CloudEventBuilder.v1()
+                .withId(UUID.randomUUID().toString())
+                .withType(event.name())
+                .withSource(URI.create("/order-service"))
+                .withData("application/json", objectMapper.writeValueAsBytes(order))
+                .build();
+        return new ConsumerRecord<>(event.getTopic(), 0, 0, order.id().toString(), cloudEvent);
+    }
+}
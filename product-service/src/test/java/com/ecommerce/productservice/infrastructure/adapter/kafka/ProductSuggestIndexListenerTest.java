@@ -0,0 +1,60 @@
+package com.ecommerce.productservice.infrastructure.adapter.kafka;
+
+import com.ecommerce.productservice.infrastructure.adapter.kafka.ProductEventPublisherAdapter.InventoryUpdate;
+import com.ecommerce.productservice.infrastructure.adapter.search.InMemoryProductSuggestIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that only changed details reach the name index: stock updates, which reservations publish for every
+ * order, must not make it reload names.
+ */
+class ProductSuggestIndexListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryProductSuggestIndex suggestIndex = mock(InMemoryProductSuggestIndex.class);
+    private final ProductSuggestIndexListener listener = new ProductSuggestIndexListener(suggestIndex, objectMapper);
+
+    @Test
+    void marksProductsWithChangedDetails() throws Exception {
+        listener.onProductChanged(event(new InventoryUpdate(List.of(1L, 2L), true)));
+
+        verify(suggestIndex).markChanged(List.of(1L, 2L));
+    }
+
+    @Test
+    void ignoresStockUpdates() throws Exception {
+        listener.onProductChanged(event(new InventoryUpdate(List.of(1L), false)));
+
+        verify(suggestIndex, never()).markChanged(any());
+    }
+
+    @Test
+    void ignoresUnreadableEvents() {
+        listener.onProductChanged(CloudEventBuilder.v1()
+                .withId("1")
+                .withType("product.inventory.updated")
+                .withSource(URI.create("/product-service"))
+                .withData("application/json", "not json".getBytes())
+                .build());
+
+        verify(suggestIndex, never()).markChanged(any());
+    }
+
+    private CloudEvent event(InventoryUpdate update) throws Exception {
+        return CloudEventBuilder.v1()
+                .withId("1")
+                .withType("product.inventory.updated")
+                .withSource(URI.create("/product-service"))
+                .withData("application/json", objectMapper.writeValueAsBytes(update))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that each product of an order is reserved from one shard when one holds enough stock, and from all of its
+ * shards otherwise, without taking anything from a product that cannot be served.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product_shard_db;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InventoryShardStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryShardStoreTest {
+
+    @Autowired
+    private InventoryShardStore shardStore;
+
+    @Autowired
+    private ProductJpaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long phone;
+    private Long watch;
+
+    @BeforeEach
+    void setUp() {
+        phone = save("Phone", 9);
+        watch = save("Watch", 4);
+        shardStore.shard(phone, 3);
+        shardStore.shard(watch, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_stock_shards");
+        repository.deleteAll();
+    }
+
+    @Test
+    void reservesFromOneShardOrFallsBackToAllShards() {
+        // 3 units per phone shard: 5 phones need the fallback, 1 watch fits a single shard
+        List<Long> rejected = shardStore.reserve(List.of(Map.entry(phone, 5), Map.entry(watch, 1)));
+
+        assertThat(rejected).isEmpty();
+        assertThat(shardStore.totals(List.of(phone, watch))).isEqualTo(Map.of(phone, 4, watch, 3));
+    }
+
+    @Test
+    void rejectsProductsWithoutEnoughStockAndReservesTheOthers() {
+        List<Long> rejected = shardStore.reserve(List.of(Map.entry(phone, 2), Map.entry(watch, 5)));
+
+        assertThat(rejected).containsExactly(watch);
+        assertThat(shardStore.totals(List.of(phone, watch))).isEqualTo(Map.of(phone, 7, watch, 4));
+    }
+
+    private Long save(String name, int inventory) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setInventory(inventory);
+        Long id = repository.save(product).getId();
+        jdbcTemplate.update("UPDATE products SET reserved = 0 WHERE id = ?", id);
+        return id;
+    }
+}
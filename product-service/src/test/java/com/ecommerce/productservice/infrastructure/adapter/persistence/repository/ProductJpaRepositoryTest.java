@@ -0,0 +1,113 @@
+package com.ecommerce.productservice.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that multi-product reads load categories in one batched query instead of one query per product, and that
+ * projections load no entity at all.
+ * Runs on H2 in PostgreSQL mode, with a {@code JSONB} domain for the {@code additional_data} column.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product_db;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductJpaRepositoryTest {
+
+    private static final int PRODUCTS = 20;
+
+    @Autowired
+    private ProductJpaRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> entityManager.persistAndGetId(product(i), Long.class))
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllByIdInLoadsCategoriesInOneQuery() {
+        List<ProductEntity> products = repository.findAllByIdIn(ids);
+        products.forEach(product -> assertThat(product.getCategories()).hasSize(2));
+
+        assertThat(products).hasSize(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findAllPageLoadsCategoriesInOneQuery() {
+        List<ProductEntity> products = repository.findAll(PageRequest.of(0, 10)).getContent();
+        products.forEach(product -> assertThat(product.getCategories()).isNotEmpty());
+
+        assertThat(products).hasSize(10);
+        // Page, count and categories
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void findByCategoryAfterReturnsCategoryInIdOrder() {
+        List<ProductEntity> products = repository.findByCategoryAfter("even", ids.get(3), 5);
+        products.forEach(product -> assertThat(product.getCategories()).contains("even"));
+
+        assertThat(products).extracting(ProductEntity::getId)
+                .containsExactly(ids.get(4), ids.get(6), ids.get(8), ids.get(10), ids.get(12));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findAvailabilityByIdInReadsOnlyProjectedColumns() {
+        List<ProductJpaRepository.AvailabilityView> views = repository.findAvailabilityByIdIn(ids.subList(0, 5));
+
+        assertThat(views).hasSize(5);
+        assertThat(views).allSatisfy(view -> {
+            assertThat(view.getName()).startsWith("Product ");
+            assertThat(view.getPrice()).isEqualByComparingTo(BigDecimal.TEN);
+            assertThat(view.getAvailable()).isEqualTo(100);
+        });
+        // No entity is loaded, so no categories query either
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static ProductEntity product(int i) {
+        ProductEntity product = new ProductEntity();
+        product.setName("Product " + i);
+        product.setPrice(BigDecimal.TEN);
+        product.setInventory(100);
+        product.setCategories(Set.of("all", i % 2 == 0 ? "even" : "odd"));
+        return product;
+    }
+}
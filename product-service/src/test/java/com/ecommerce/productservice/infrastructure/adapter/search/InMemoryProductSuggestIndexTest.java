@@ -0,0 +1,103 @@
+package com.ecommerce.productservice.infrastructure.adapter.search;
+
+import com.ecommerce.productservice.domain.model.ProductSuggestion;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.entity.ProductEntity;
+import com.ecommerce.productservice.infrastructure.adapter.persistence.repository.ProductJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the autocomplete ranking of the in-memory name index, and that a refresh applies renames and deletions of
+ * the products marked as changed, and only of those.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:product_suggest_db;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "product-search.suggest-index=in-memory"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InMemoryProductSuggestIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InMemoryProductSuggestIndexTest {
+
+    @Autowired
+    private InMemoryProductSuggestIndex index;
+
+    @Autowired
+    private ProductJpaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long phoneCase;
+    private Long smartPhone;
+    private Long smartWatch;
+
+    @BeforeEach
+    void setUp() {
+        phoneCase = save("Leather case for smart phones");
+        smartPhone = save("Smart Phone X");
+        smartWatch = save("Smart-Watch");
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        // The index outlives the test: refreshing deleted products drops them
+        index.markChanged(List.of(phoneCase, smartPhone, smartWatch));
+        index.refresh();
+    }
+
+    @Test
+    void ranksNamesStartingWithThePrefixFirstThenShorterNames() {
+        assertThat(ids(index.suggest("sma", 10))).containsExactly(smartWatch, smartPhone, phoneCase);
+        assertThat(ids(index.suggest("SMART pho", 10))).containsExactly(smartPhone, phoneCase);
+        assertThat(ids(index.suggest("sma", 1))).containsExactly(smartWatch);
+        assertThat(index.suggest("tablet", 10)).isEmpty();
+        assertThat(index.suggest(" & ", 10)).isEmpty();
+    }
+
+    @Test
+    void refreshReloadsOnlyTheProductsMarkedAsChanged() {
+        jdbcTemplate.update("UPDATE products SET name = 'Tablet' WHERE id = ?", smartPhone);
+        jdbcTemplate.update("UPDATE products SET name = 'Tablet stand' WHERE id = ?", phoneCase);
+        repository.deleteById(smartWatch);
+
+        index.markChanged(List.of(smartPhone, smartWatch));
+        index.refresh();
+
+        assertThat(ids(index.suggest("tab", 10))).containsExactly(smartPhone);
+        // The case was not marked: it keeps its indexed name until it is
+        assertThat(ids(index.suggest("sma", 10))).containsExactly(phoneCase);
+    }
+
+    private Long save(String name) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setInventory(1);
+        return repository.save(product).getId();
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::id).toList();
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.productservice.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTermsTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertThat(SearchTerms.of("Smart-Phone  X2, Café")).containsExactly("smart", "phone", "x2", "café");
+        assertThat(SearchTerms.of(" -- ")).isEmpty();
+        assertThat(SearchTerms.of(null)).isEmpty();
+    }
+
+    @Test
+    void prefixQueryKeepsTsqueryOperatorsOutOfTheExpression() {
+        assertThat(SearchTerms.prefixQuery("red sho")).isEqualTo("red:* & sho:*");
+        assertThat(SearchTerms.prefixQuery("red') | !(sho:*")).isEqualTo("red:* & sho:*");
+        assertThat(SearchTerms.prefixQuery("&|!")).isEmpty();
+    }
+}
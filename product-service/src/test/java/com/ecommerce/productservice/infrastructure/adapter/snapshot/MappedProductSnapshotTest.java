@@ -0,0 +1,103 @@
+package com.ecommerce.productservice.infrastructure.adapter.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Round trip of the snapshot file format: what the {@link MappedProductSnapshot.Writer} streams to disk is read back
+ * unchanged from the mapping, and no file is left behind.
+ */
+class MappedProductSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void readsBackEveryFieldOfEveryRecord() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        MappedProductSnapshot snapshot;
+        try (MappedProductSnapshot.Writer writer = MappedProductSnapshot.writer(directory)) {
+            writer.add(3, createdAt, beforeEpoch, 7L, 42,
+                    "Phone", "Smart phone", "19.99", "phone.png", "electronics\u001Fmobile", "{\"color\":\"black\"}");
+            writer.add(8, null, null, null, null, "Café ☕", null, null, "phone.png", "electronics\u001Fmobile", null);
+            snapshot = writer.map();
+        }
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        int phone = snapshot.find(3);
+        assertThat(snapshot.id(phone)).isEqualTo(3);
+        assertThat(snapshot.createdAt(phone)).isEqualTo(createdAt);
+        assertThat(snapshot.updatedAt(phone)).isEqualTo(beforeEpoch);
+        assertThat(snapshot.version(phone)).isEqualTo(7L);
+        assertThat(snapshot.inventory(phone)).isEqualTo(42);
+        assertThat(snapshot.string(phone, MappedProductSnapshot.NAME)).isEqualTo("Phone");
+        assertThat(snapshot.string(phone, MappedProductSnapshot.DESCRIPTION)).isEqualTo("Smart phone");
+        assertThat(snapshot.string(phone, MappedProductSnapshot.PRICE)).isEqualTo("19.99");
+        assertThat(snapshot.string(phone, MappedProductSnapshot.IMAGE)).isEqualTo("phone.png");
+        assertThat(snapshot.string(phone, MappedProductSnapshot.CATEGORIES)).isEqualTo("electronics\u001Fmobile");
+        assertThat(snapshot.string(phone, MappedProductSnapshot.ADDITIONAL_DATA)).isEqualTo("{\"color\":\"black\"}");
+
+        int cafe = snapshot.find(8);
+        assertThat(snapshot.createdAt(cafe)).isNull();
+        assertThat(snapshot.version(cafe)).isNull();
+        assertThat(snapshot.inventory(cafe)).isNull();
+        assertThat(snapshot.string(cafe, MappedProductSnapshot.NAME)).isEqualTo("Café ☕");
+        assertThat(snapshot.string(cafe, MappedProductSnapshot.DESCRIPTION)).isNull();
+        assertThat(snapshot.string(cafe, MappedProductSnapshot.IMAGE)).isEqualTo("phone.png");
+
+        assertThat(snapshot.find(5)).isEqualTo(-1);
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void spansManyWriteBuffers() throws Exception {
+        String longDescription = "x".repeat(200_000); // Larger than the write buffer
+        MappedProductSnapshot snapshot;
+        try (MappedProductSnapshot.Writer writer = MappedProductSnapshot.writer(directory)) {
+            for (long id = 1; id <= 5_000; id++) {
+                writer.add(id, null, null, id, (int) id, "Product " + id, id % 1000 == 0 ? longDescription : null,
+                        null, "image-" + (id % 10) + ".png", null, null);
+            }
+            snapshot = writer.map();
+        }
+
+        assertThat(snapshot.size()).isEqualTo(5_000);
+        for (long id : new long[]{1, 999, 1000, 1001, 4_999, 5_000}) {
+            int record = snapshot.find(id);
+            assertThat(snapshot.string(record, MappedProductSnapshot.NAME)).isEqualTo("Product " + id);
+            assertThat(snapshot.string(record, MappedProductSnapshot.IMAGE)).isEqualTo("image-" + (id % 10) + ".png");
+            assertThat(snapshot.inventory(record)).isEqualTo((int) id);
+        }
+        assertThat(snapshot.string(snapshot.find(3_000), MappedProductSnapshot.DESCRIPTION)).isEqualTo(longDescription);
+    }
+
+    @Test
+    void mapsAnEmptyCatalog() throws Exception {
+        try (MappedProductSnapshot.Writer writer = MappedProductSnapshot.writer(directory)) {
+            MappedProductSnapshot snapshot = writer.map();
+
+            assertThat(snapshot.size()).isZero();
+            assertThat(snapshot.find(1)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void rejectsRecordsOutOfIdOrder() throws Exception {
+        try (MappedProductSnapshot.Writer writer = MappedProductSnapshot.writer(directory)) {
+            writer.add(2, null, null, 1L, 1, "Second");
+
+            assertThatThrownBy(() -> writer.add(1, null, null, 1L, 1, "First"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductBatchItemRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchItemResponse;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationRequest;
+import com.ecommerce.productservice.application.dto.ProductBatchValidationResponse;
+import com.ecommerce.shared.interfaces.binary.BatchValidationSamples;
+import com.ecommerce.shared.interfaces.binary.BatchValidationWireFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pins the v1 layout of {@link BatchValidationWireFormat}: order-service decodes the same positions, checked
+ * against the {@link BatchValidationSamples} both services share.
+ */
+class ProductBatchCborMessageConverterTest {
+
+    private final ProductBatchCborMessageConverter converter = new ProductBatchCborMessageConverter();
+    private final ObjectMapper cborMapper = new CBORMapper(new CBORFactory());
+
+    @Test
+    void readsVersionedPairsOfProductIdAndQuantity() throws Exception {
+        byte[] body = cborMapper.writeValueAsBytes(Arrays.asList(1, 10L, 2, 11L, null));
+
+        Object request = converter.read(ProductBatchValidationRequest.class, input(body));
+
+        assertThat(request).isEqualTo(new ProductBatchValidationRequest(List.of(
+                new ProductBatchItemRequest(10L, 2), new ProductBatchItemRequest(11L, null))));
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws Exception {
+        byte[] body = cborMapper.writeValueAsBytes(List.of(2, 10L, 1));
+
+        assertThatThrownBy(() -> converter.read(ProductBatchValidationRequest.class, input(body)))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void writesVersionThenPositionalItems() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new ProductBatchValidationResponse(List.of(
+                new ProductBatchItemResponse(10L, "Phone", new BigDecimal("19.99"), true, 5, null),
+                new ProductBatchItemResponse(11L, null, null, false, null, "Product not found"))),
+                BatchValidationWireFormat.MEDIA_TYPE, output);
+
+        JsonNode body = cborMapper.readTree(output.getBodyAsBytes());
+
+        assertThat(body.size()).isEqualTo(3);
+        assertThat(body.get(0).asInt()).isEqualTo(BatchValidationWireFormat.VERSION);
+        JsonNode available = body.get(1);
+        assertThat(available.size()).isEqualTo(BatchValidationWireFormat.ITEM_FIELDS);
+        assertThat(available.get(0).asLong()).isEqualTo(10L);
+        assertThat(available.get(1).asText()).isEqualTo("Phone");
+        assertThat(available.get(2).decimalValue()).isEqualByComparingTo("19.99");
+        assertThat(available.get(3).asBoolean()).isTrue();
+        assertThat(available.get(4).asInt()).isEqualTo(5);
+        assertThat(available.get(5).isNull()).isTrue();
+        JsonNode missing = body.get(2);
+        assertThat(missing.get(1).isNull()).isTrue();
+        assertThat(missing.get(3).asBoolean()).isFalse();
+        assertThat(missing.get(5).asText()).isEqualTo("Product not found");
+    }
+
+    @Test
+    void readsTheRequestOrderServiceWrites() throws Exception {
+        Object request = converter.read(ProductBatchValidationRequest.class, input(BatchValidationSamples.REQUEST));
+
+        assertThat(request).isEqualTo(new ProductBatchValidationRequest(List.of(
+                new ProductBatchItemRequest(10L, 2), new ProductBatchItemRequest(11L, 1))));
+    }
+
+    @Test
+    void writesTheResponseOrderServiceReads() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new ProductBatchValidationResponse(List.of(
+                        new ProductBatchItemResponse(10L, "Phone", new BigDecimal("19.99"), true, 5, null),
+                        new ProductBatchItemResponse(11L, null, null, false, null, "Product not found"))),
+                BatchValidationWireFormat.MEDIA_TYPE, output);
+
+        assertThat(output.getBodyAsBytes()).isEqualTo(BatchValidationSamples.RESPONSE);
+    }
+
+    @Test
+    void writesOnlyWhenTheBinaryFormatIsNegotiated() {
+        assertThat(converter.canWrite(ProductBatchValidationResponse.class, BatchValidationWireFormat.MEDIA_TYPE)).isTrue();
+        assertThat(converter.canWrite(ProductBatchValidationResponse.class, null)).isFalse();
+        assertThat(converter.canWrite(ProductBatchValidationResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static MockHttpInputMessage input(byte[] body) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body);
+        input.getHeaders().setContentType(BatchValidationWireFormat.MEDIA_TYPE);
+        return input;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.domain.port.in.ProductUseCase;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that matching conditional requests are answered before the controller runs, with a policy that keeps
+ * JWT protected responses out of shared caches.
+ */
+class ProductConditionalGetInterceptorTest {
+
+    private final ProductUseCase productUseCase = mock(ProductUseCase.class);
+    private final ProductController controller = new ProductController(productUseCase);
+    private final ProductConditionalGetInterceptor interceptor = new ProductConditionalGetInterceptor(productUseCase,
+            new ProductCacheProperties(null, null,
+                    new ProductCacheProperties.Http(Duration.ofSeconds(30), Duration.ofSeconds(10))));
+
+    @Test
+    void matchingProductRevisionIsNotModified() throws Exception {
+        when(productUseCase.findRevision(7L)).thenReturn("7-3-42");
+        MockHttpServletRequest request = get("/products/7");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "7"));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"7-3-42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, handler("findById", Long.class));
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=30, must-revalidate, private");
+    }
+
+    @Test
+    void changedPageRevisionProceedsWithTheNewTag() throws Exception {
+        when(productUseCase.findPageRevision(2, 10)).thenReturn("abc");
+        MockHttpServletRequest request = get("/products");
+        request.setParameter("page", "2");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"old\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, handler("findAllPaginated", int.class, int.class));
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"abc\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=10, private");
+    }
+
+    @Test
+    void matchingCursorPageRevisionIsNotModifiedWithoutLoadingThePage() throws Exception {
+        when(productUseCase.findCursorPageRevision("", 20, true)).thenReturn("def");
+        MockHttpServletRequest request = get("/products");
+        request.setParameter("cursor", "");
+        request.setParameter("estimateTotal", "true");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"def\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response,
+                handler("findAllByCursor", String.class, int.class, boolean.class));
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(productUseCase, never()).findAllByCursor(any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void invalidPageParameterIsLeftToTheController() throws Exception {
+        MockHttpServletRequest request = get("/products");
+        request.setParameter("size", "ten");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, handler("findAllPaginated", int.class, int.class))).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        verifyNoInteractions(productUseCase);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private HandlerMethod handler(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return new HandlerMethod(controller, ProductController.class.getMethod(name, parameterTypes));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.productservice.interfaces.rest;
+
+import com.ecommerce.productservice.application.dto.ProductPageResponse;
+import com.ecommerce.productservice.application.dto.ProductResponse;
+import com.ecommerce.productservice.infrastructure.properties.ProductCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPageETagAdviceTest {
+
+    private final ProductPageETagAdvice advice = new ProductPageETagAdvice(new ProductCacheProperties(null, null,
+            new ProductCacheProperties.Http(Duration.ofSeconds(30), Duration.ofSeconds(10))));
+
+    private final ProductPageResponse page = new ProductPageResponse(List.of(new ProductResponse("1", "Phone", null,
+            BigDecimal.TEN, 5, null, Set.of(), null, null, LocalDateTime.of(2024, 3, 1, 12, 0))), 0, 20, 1, 1);
+
+    @Test
+    void pageIsTaggedPrivatelyAndNotWrittenAgainOnAMatch() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(write(new MockHttpServletRequest("GET", "/products/color/red"), first)).isSameAs(page);
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=10, private");
+
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/products/color/red");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        assertThat(write(revalidation, second)).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void tagSetBeforeTheControllerIsLeftUntouched() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader(HttpHeaders.ETAG, "W/\"revision\"");
+
+        assertThat(write(new MockHttpServletRequest("GET", "/products"), response)).isSameAs(page);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"revision\"");
+    }
+
+    private Object write(MockHttpServletRequest request, MockHttpServletResponse response) {
+        return advice.beforeBodyWrite(page, null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.sagaharness;
+
+import com.ecommerce.orderservice.domain.event.OrderEventType;
+import com.ecommerce.orderservice.domain.port.out.OrderEventPublisherPort;
+import com.ecommerce.orderservice.domain.port.out.OrderRepositoryPort;
+import com.ecommerce.orderservice.infrastructure.adapter.kafka.OrderEventProcessor;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+/**
+ * Extra beans added to the order-service context by the harness.
+ */
+@Configuration(proxyBeanMethods = false)
+class HarnessOrderConfiguration {
+
+    static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    @Bean
+    String[] harnessStubTopics() {
+        return Stream.of(OrderEventType.PAYMENT_START, OrderEventType.SHIPMENT_START, OrderEventType.DELIVERED)
+                .map(OrderEventType::getTopic)
+                .toArray(String[]::new);
+    }
+
+    @Bean
+    PaymentShipmentStub paymentShipmentStub(OrderRepositoryPort orderRepository,
+                                            OrderEventProcessor eventProcessor,
+                                            OrderEventPublisherPort eventPublisher,
+                                            SagaRecorder recorder,
+                                            PlatformTransactionManager transactionManager) {
+        return new PaymentShipmentStub(orderRepository, eventProcessor, eventPublisher, recorder, transactionManager);
+    }
+
+    /**
+     * Adds client-side percentiles to the saga meters so the report can read them from the simple registry.
+     */
+    @Bean
+    MeterFilter harnessSagaPercentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith("order.saga")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder().percentiles(PERCENTILES).build().merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.sagaharness;
+
+import com.ecommerce.orderservice.domain.event.OrderEventType;
+import com.ecommerce.orderservice.domain.model.Order;
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import com.ecommerce.orderservice.domain.port.out.OrderEventPublisherPort;
+import com.ecommerce.orderservice.domain.port.out.OrderRepositoryPort;
+import com.ecommerce.orderservice.infrastructure.adapter.kafka.OrderEventProcessor;
+import io.cloudevents.CloudEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for payment-service, the shipment provider and the delivery confirmation.
+ * <p>
+ * The saga publishes PAYMENT_START, SHIPMENT_START and DELIVERED but nothing feeds them back into the order state
+ * machine yet, so the stub does it: it applies the start event (moving the order to *_PENDING) and then publishes
+ * the matching *_SUCCEEDED event, which travels through Kafka and the real {@code OrderEventListener}. Each
+ * (topic, order) pair is handled once, since the start actions publish their event a second time.
+ */
+class PaymentShipmentStub {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentShipmentStub.class);
+
+    private static final long STATUS_WAIT_MILLIS = 10_000;
+
+    private final OrderRepositoryPort orderRepository;
+    private final OrderEventProcessor eventProcessor;
+    private final OrderEventPublisherPort eventPublisher;
+    private final SagaRecorder recorder;
+    private final TransactionTemplate readTransaction;
+    private final Set<String> handled = ConcurrentHashMap.newKeySet();
+
+    PaymentShipmentStub(OrderRepositoryPort orderRepository,
+                        OrderEventProcessor eventProcessor,
+                        OrderEventPublisherPort eventPublisher,
+                        SagaRecorder recorder,
+                        PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.eventProcessor = eventProcessor;
+        this.eventPublisher = eventPublisher;
+        this.recorder = recorder;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @KafkaListener(topics = "#{harnessStubTopics}", groupId = "saga-harness-stubs",
+            containerFactory = "kafkaListenerContainerFactory")
+    public void onEvent(@Payload CloudEvent event,
+                        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                        @Header(KafkaHeaders.RECEIVED_KEY) String key) {
+        if (!handled.add(topic + ":" + key)) {
+            return;
+        }
+        UUID orderId = UUID.fromString(key);
+
+        if (OrderEventType.PAYMENT_START.getTopic().equals(topic)) {
+            if (advance(orderId, OrderStatus.VALIDATION_SUCCEEDED, OrderEventType.PAYMENT_START)) {
+                eventPublisher.publishPaymentSucceededEvent(load(orderId).toEventPayload());
+            }
+        } else if (OrderEventType.SHIPMENT_START.getTopic().equals(topic)) {
+            if (advance(orderId, OrderStatus.PAYMENT_SUCCEEDED, OrderEventType.SHIPMENT_START)) {
+                eventPublisher.publishShipmentSucceededEvent(load(orderId).toEventPayload());
+            }
+        } else if (OrderEventType.DELIVERED.getTopic().equals(topic)) {
+            if (advance(orderId, OrderStatus.SHIPPING_SUCCEEDED, OrderEventType.DELIVERED)
+                    && load(orderId).status() == OrderStatus.FULFILLED) {
+                recorder.completed(orderId);
+            }
+        }
+    }
+
+    /**
+     * Applies {@code eventType} once the order reached {@code expected}. The event that triggered the stub is
+     * published inside the transition's transaction, so the new status may not be committed yet.
+     */
+    private boolean advance(UUID orderId, OrderStatus expected, OrderEventType eventType) {
+        try {
+            return awaitAndApply(orderId, expected, eventType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean awaitAndApply(UUID orderId, OrderStatus expected, OrderEventType eventType)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STATUS_WAIT_MILLIS);
+        Order order = load(orderId);
+        while (order.status() != expected) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Order {} stuck in {} while waiting for {}", orderId, order.status(), expected);
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+            order = load(orderId);
+        }
+        eventProcessor.processEvent(order.toEventPayload(), eventType);
+        return true;
+    }
+
+    private Order load(UUID orderId) {
+        return readTransaction.execute(status -> orderRepository.findById(orderId));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.sagaharness;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall-clock bookkeeping of the simulated orders: when the harness confirmed each order and when the
+ * stubbed delivery completed it. Shared between the test and the order-service context.
+ */
+class SagaRecorder {
+
+    private final Map<UUID, Long> confirmedAt = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> completedAt = new ConcurrentHashMap<>();
+    private final AtomicLong lastCompletion = new AtomicLong();
+
+    void confirmed(UUID orderId) {
+        confirmedAt.put(orderId, System.nanoTime());
+    }
+
+    void completed(UUID orderId) {
+        long now = System.nanoTime();
+        completedAt.put(orderId, now);
+        lastCompletion.accumulateAndGet(now, Math::max);
+    }
+
+    int completedCount() {
+        return completedAt.size();
+    }
+
+    boolean isCompleted(UUID orderId) {
+        return completedAt.containsKey(orderId);
+    }
+
+    long lastCompletionNanos() {
+        return lastCompletion.get();
+    }
+
+    /**
+     * @return sorted confirm-to-fulfilled latencies of the completed orders, in nanoseconds
+     */
+    long[] endToEndNanos() {
+        long[] latencies = completedAt.entrySet().stream()
+                .filter(entry -> confirmedAt.containsKey(entry.getKey()))
+                .mapToLong(entry -> entry.getValue() - confirmedAt.get(entry.getKey()))
+                .toArray();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
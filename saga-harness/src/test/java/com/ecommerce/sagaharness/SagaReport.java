@@ -0,0 +1,78 @@
+package com.ecommerce.sagaharness;
+
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats the result of a simulation run.
+ * Stage latencies come from the {@code order.saga.transition} timers recorded by order-service itself.
+ */
+final class SagaReport {
+
+    private SagaReport() {
+    }
+
+    static String build(int orders, SagaRecorder recorder, long startNanos, Map<OrderStatus, Long> unfinished,
+                        MeterRegistry registry, double[] percentiles) {
+        StringBuilder report = new StringBuilder(2048);
+        int completed = recorder.completedCount();
+        double elapsedSeconds = completed == 0 ? 0 : (recorder.lastCompletionNanos() - startNanos) / 1e9;
+
+        report.append("=== Saga simulation ===\n");
+        report.append(String.format("orders: %d, fulfilled: %d, unfinished: %s%n", orders, completed, unfinished));
+        report.append(String.format("elapsed: %.2f s, throughput: %.1f orders/s%n", elapsedSeconds,
+                elapsedSeconds == 0 ? 0 : completed / elapsedSeconds));
+
+        long[] endToEnd = recorder.endToEndNanos();
+        report.append("\nEnd-to-end (confirm -> FULFILLED), ms:\n");
+        report.append(String.format("  %-42s %8s", "", "count"));
+        for (double p : percentiles) {
+            report.append(String.format(" %8s", label(p)));
+        }
+        report.append(String.format(" %8s%n", "max"));
+        report.append(String.format("  %-42s %8d", "total", endToEnd.length));
+        for (double p : percentiles) {
+            report.append(String.format(" %8.1f", millis(percentileOf(endToEnd, p))));
+        }
+        report.append(String.format(" %8.1f%n", endToEnd.length == 0 ? 0 : millis(endToEnd[endToEnd.length - 1])));
+
+        report.append("\nPer stage (time in source state), ms:\n");
+        registry.find("order.saga.transition").timers().stream()
+                .sorted(Comparator.comparing((Timer timer) -> OrderStatus.valueOf(timer.getId().getTag("source")))
+                        .thenComparing(timer -> timer.getId().getTag("target")))
+                .forEach(timer -> {
+                    HistogramSnapshot snapshot = timer.takeSnapshot();
+                    String stage = timer.getId().getTag("source") + " -> " + timer.getId().getTag("target");
+                    report.append(String.format("  %-42s %8d", stage, snapshot.count()));
+                    for (ValueAtPercentile value : snapshot.percentileValues()) {
+                        report.append(String.format(" %8.1f", value.value(TimeUnit.MILLISECONDS)));
+                    }
+                    report.append(String.format(" %8.1f%n", snapshot.max(TimeUnit.MILLISECONDS)));
+                });
+        return report.toString();
+    }
+
+    private static long percentileOf(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String label(double percentile) {
+        return "p" + (percentile * 100 == Math.floor(percentile * 100)
+                ? String.valueOf((int) (percentile * 100)) : String.valueOf(percentile * 100));
+    }
+}
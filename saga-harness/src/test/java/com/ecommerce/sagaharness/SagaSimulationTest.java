@@ -0,0 +1,193 @@
+package com.ecommerce.sagaharness;
+
+import com.ecommerce.orderservice.OrderServiceApplication;
+import com.ecommerce.orderservice.domain.event.OrderEventType;
+import com.ecommerce.orderservice.domain.model.Order;
+import com.ecommerce.orderservice.domain.model.OrderItem;
+import com.ecommerce.orderservice.domain.model.OrderStatus;
+import com.ecommerce.orderservice.domain.port.out.OrderRepositoryPort;
+import com.ecommerce.orderservice.infrastructure.adapter.kafka.OrderEventProcessor;
+import com.ecommerce.productservice.ProductServiceApplication;
+import com.ecommerce.productservice.domain.model.Product;
+import com.ecommerce.productservice.domain.port.out.ProductRepositoryPort;
+import com.ecommerce.shared.domain.event.SharedOrderEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * In-process saga simulation: order-service and product-service run in the same JVM against an embedded Kafka
+ * broker and in-memory H2 databases. A synthetic workload is confirmed through
+ * ORDER_CONFIRMED → validation (real product-service) → payment → shipment → delivery (stubbed, see
+ * {@link PaymentShipmentStub}) and the run reports orders/sec and per-stage latency.
+ * <p>
+ * Workload knobs (system properties, forwarded by the {@code sagaSimulation} Gradle task from {@code -P}):
+ * {@code harness.orders}, {@code harness.products}, {@code harness.max-items}, {@code harness.driver-threads},
+ * {@code harness.timeout-seconds}.
+ */
+@Tag("simulation")
+class SagaSimulationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaSimulationTest.class);
+
+    private static final int ORDERS = Integer.getInteger("harness.orders", 1000);
+    private static final int PRODUCTS = Integer.getInteger("harness.products", 200);
+    private static final int MAX_ITEMS = Integer.getInteger("harness.max-items", 5);
+    private static final int DRIVER_THREADS = Integer.getInteger("harness.driver-threads", 8);
+    private static final int TIMEOUT_SECONDS = Integer.getInteger("harness.timeout-seconds", 300);
+    private static final String REPORT_DIR = System.getProperty("harness.report-dir", "build/reports/saga-harness");
+
+    private static final SagaRecorder recorder = new SagaRecorder();
+    private static EmbeddedKafkaBroker broker;
+    private static ConfigurableApplicationContext productContext;
+    private static ConfigurableApplicationContext orderContext;
+
+    @BeforeAll
+    static void startServices() {
+        String[] topics = Stream.concat(
+                        Arrays.stream(SharedOrderEvent.values()).map(SharedOrderEvent::getTopic),
+                        Stream.of("order-dead-letter-topic", "product-dead-letter-topic"))
+                .distinct()
+                .toArray(String[]::new);
+        broker = new EmbeddedKafkaKraftBroker(1, 1, topics);
+        broker.afterPropertiesSet();
+
+        productContext = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .run(serviceArgs("product-service"));
+        orderContext = new SpringApplicationBuilder(OrderServiceApplication.class, HarnessOrderConfiguration.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("sagaRecorder", recorder))
+                .run(serviceArgs("order-service"));
+
+        awaitAssignment(productContext);
+        awaitAssignment(orderContext);
+    }
+
+    @AfterAll
+    static void stopServices() {
+        Stream.of(orderContext, productContext).filter(Objects::nonNull).forEach(ConfigurableApplicationContext::close);
+        if (broker != null) {
+            broker.destroy();
+        }
+    }
+
+    @Test
+    void replaysSyntheticWorkloadThroughSaga() throws Exception {
+        List<Product> products = seedProducts();
+        List<Order> orders = seedOrders(products);
+
+        OrderEventProcessor processor = orderContext.getBean(OrderEventProcessor.class);
+        ExecutorService driver = Executors.newFixedThreadPool(DRIVER_THREADS);
+        long start = System.nanoTime();
+        for (Order order : orders) {
+            driver.execute(() -> {
+                recorder.confirmed(order.id());
+                processor.processEvent(order.toEventPayload(), OrderEventType.ORDER_CONFIRMED);
+            });
+        }
+        driver.shutdown();
+
+        long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (recorder.completedCount() < ORDERS && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+
+        Map<OrderStatus, Long> unfinished = unfinishedByStatus(orders);
+        String report = SagaReport.build(ORDERS, recorder, start, unfinished,
+                orderContext.getBean(MeterRegistry.class), HarnessOrderConfiguration.PERCENTILES);
+        log.info("Saga simulation report:\n{}", report);
+        writeReport(report);
+
+        assertEquals(ORDERS, recorder.completedCount(), "Orders not fulfilled, by status: " + unfinished);
+    }
+
+    private static String[] serviceArgs(String service) {
+        return new String[]{
+                "--spring.config.location=classpath:harness/common.yml,classpath:harness/" + service + ".yml",
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString()
+        };
+    }
+
+    private static void awaitAssignment(ConfigurableApplicationContext context) {
+        KafkaListenerEndpointRegistry registry = context.getBean(KafkaListenerEndpointRegistry.class);
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            String[] containerTopics = container.getContainerProperties().getTopics();
+            ContainerTestUtils.waitForAssignment(container, containerTopics == null ? 1 : containerTopics.length);
+        }
+    }
+
+    private List<Product> seedProducts() {
+        ProductRepositoryPort repository = productContext.getBean(ProductRepositoryPort.class);
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(repository.save(new Product(null, "harness-product-" + i, "Synthetic product",
+                    BigDecimal.valueOf(5 + i % 95), 10_000_000, null, Set.of("harness"), Map.of("color", "black"),
+                    null, null, null)));
+        }
+        return products;
+    }
+
+    private List<Order> seedOrders(List<Product> products) {
+        OrderRepositoryPort repository = orderContext.getBean(OrderRepositoryPort.class);
+        Random random = new Random(42); // Same workload on every run
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            int itemCount = 1 + random.nextInt(Math.min(MAX_ITEMS, products.size()));
+            Map<Long, OrderItem> items = new LinkedHashMap<>();
+            while (items.size() < itemCount) {
+                Product product = products.get(random.nextInt(products.size()));
+                items.putIfAbsent(product.id(), new OrderItem(null, product.id(), 1 + random.nextInt(3), product.price()));
+            }
+            BigDecimal total = items.values().stream()
+                    .map(item -> item.unitPrice().multiply(BigDecimal.valueOf(item.quantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            orders.add(repository.save(new Order(null, "harness-user", new LinkedHashSet<>(items.values()),
+                    OrderStatus.CREATED, LocalDateTime.now(), null, total, "1 Harness Street")));
+        }
+        return orders;
+    }
+
+    private Map<OrderStatus, Long> unfinishedByStatus(List<Order> orders) {
+        OrderRepositoryPort repository = orderContext.getBean(OrderRepositoryPort.class);
+        TransactionTemplate readTransaction = new TransactionTemplate(orderContext.getBean(PlatformTransactionManager.class));
+        readTransaction.setReadOnly(true);
+        return orders.stream()
+                .map(Order::id)
+                .filter(id -> !recorder.isCompleted(id))
+                .map(id -> readTransaction.execute(status -> repository.findById(id).status()))
+                .collect(Collectors.groupingBy(Function.identity(), () -> new EnumMap<>(OrderStatus.class),
+                        Collectors.counting()));
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Path dir = Files.createDirectories(Path.of(REPORT_DIR));
+        Files.writeString(dir.resolve("saga-simulation.txt"), report);
+    }
+}
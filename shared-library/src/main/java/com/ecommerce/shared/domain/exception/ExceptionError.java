@@ -25,6 +25,7 @@ public enum ExceptionError {
     ORDER_PAYMENT_AUTHORIZATION_FAILED("error.order.payment_authorization_failed", HttpStatus.BAD_REQUEST),
     ORDER_REFUND_FAILED("error.order.refund_failed", HttpStatus.BAD_REQUEST),
     ORDER_PAYMENT_LOOKUP_FAILED("error.order.payment_lookup_failed", HttpStatus.BAD_REQUEST),
+    ORDER_DEAD_LETTER_REPLAY_RUNNING("error.order.dead_letter_replay_running", HttpStatus.CONFLICT),
 
     // Product service errors
     PRODUCT_INVALID_INVENTORY("error.product.invalid_inventory", HttpStatus.BAD_REQUEST),
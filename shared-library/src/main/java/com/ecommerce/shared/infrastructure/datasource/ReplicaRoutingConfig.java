@@ -0,0 +1,99 @@
+package com.ecommerce.shared.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured {@code DataSource} with a {@link ReplicaRoutingDataSource} when
+ * {@code datasource-routing.enabled=true}.
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*} exactly like the auto-configured one; every replica
+ * pool copies its Hikari settings and is marked read-only. Each pool registers its own {@code hikaricp.*} meters
+ * tagged with its pool name, and replicas additionally expose {@code datasource.replica.lag} and
+ * {@code datasource.replica.healthy}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    static final String PRIMARY_POOL = "primary";
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                               ReplicaRoutingProperties properties,
+                                               Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariConfig primaryConfig = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaryConfig));
+        primaryConfig.setJdbcUrl(dataSourceProperties.determineUrl());
+        primaryConfig.setUsername(dataSourceProperties.determineUsername());
+        primaryConfig.setPassword(dataSourceProperties.determinePassword());
+        primaryConfig.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        if (primaryConfig.getPoolName() == null) {
+            primaryConfig.setPoolName(PRIMARY_POOL);
+        }
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariConfig replicaConfig = new HikariConfig();
+            primaryConfig.copyStateTo(replicaConfig);
+            replicaConfig.setPoolName(replica.name() != null ? replica.name() : "replica-" + (i + 1));
+            replicaConfig.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                replicaConfig.setUsername(replica.username());
+            }
+            if (replica.password() != null) {
+                replicaConfig.setPassword(replica.password());
+            }
+            replicaConfig.setReadOnly(true);
+            // A replica that is down at startup must not prevent the service from starting
+            replicaConfig.setInitializationFailTimeout(-1);
+            replicaPools.add(pool(replicaConfig, registry));
+        }
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(pool(primaryConfig, registry),
+                replicaPools, properties.lagQuery(), properties.maxLag(), properties.healthCheckInterval());
+        if (registry != null) {
+            dataSource.replicas().forEach(replica -> registerReplicaGauges(replica, registry));
+        }
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(HikariConfig config, MeterRegistry registry) {
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new HikariDataSource(config);
+    }
+
+    private static void registerReplicaGauges(ReplicaRoutingDataSource.Replica replica, MeterRegistry registry) {
+        Gauge.builder("datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::lagSeconds)
+                .description("Replication lag measured by the last health check")
+                .baseUnit("seconds")
+                .tag("pool", replica.name())
+                .register(registry);
+        Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy() ? 1 : 0)
+                .description("1 when the replica receives read-only transactions")
+                .tag("pool", replica.name())
+                .register(registry);
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecommerce.shared.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code DataSource} sending read-only transactions to replica pools and everything else to the primary pool.
+ * <p>
+ * Physical connections are fetched lazily, on the first statement: by then the transaction manager has already
+ * flagged the connection as read-only ({@code @Transactional(readOnly = true)}), which selects the replica side.
+ * Replicas are picked round-robin among the healthy ones. A background task checks every replica at a fixed
+ * interval and takes it out of rotation when it is unreachable or lags more than {@code maxLag}; reads fall back
+ * to the primary when no replica is healthy.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, String lagQuery,
+                                    Duration maxLag, Duration healthCheckInterval) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.lagQuery = StringUtils.hasText(lagQuery) ? lagQuery : null;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        if (replicas.isEmpty()) {
+            this.healthChecker = null;
+            return;
+        }
+        setReadOnlyDataSource(new ReplicaSelector());
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Refreshes the lag and health of every replica.
+     */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                replica.lagSeconds = lagQuery == null ? 0 : queryLag(connection);
+                healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                log.debug("Health check of replica {} failed: {}", replica.name(), e.getMessage());
+                replica.lagSeconds = Double.NaN;
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation", replica.name());
+                } else {
+                    log.warn("Replica {} taken out of rotation (lag: {}s, max: {}s)",
+                            replica.name(), replica.lagSeconds, maxLagSeconds);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("Lag query returned no row");
+            }
+            double lag = resultSet.getDouble(1);
+            if (resultSet.wasNull()) {
+                throw new SQLException("Lag query returned NULL");
+            }
+            return lag;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+        if (primary instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close primary pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A replica pool with the outcome of its last health check.
+     */
+    public static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        public String name() {
+            return pool.getPoolName();
+        }
+
+        public boolean healthy() {
+            return healthy;
+        }
+
+        /**
+         * @return lag measured by the last health check, {@code NaN} when the replica could not be checked
+         */
+        public double lagSeconds() {
+            return lagSeconds;
+        }
+    }
+
+    /**
+     * Read-only side of the proxy: round-robin over the healthy replicas, primary as the last resort.
+     */
+    private class ReplicaSelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int size = replicas.size();
+            int start = Math.floorMod(cursor.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.pool.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica {} unavailable, trying the next one: {}", replica.name(), e.getMessage());
+                    replica.healthy = false;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            throw new UnsupportedOperationException("Replica pools use their configured credentials");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.shared.infrastructure.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for routing read-only transactions to replica pools.
+ * <p>
+ * Replica pools inherit every {@code spring.datasource.hikari.*} setting of the primary pool; only the connection
+ * coordinates differ. Username and password default to the primary ones.
+ *
+ * @param enabled             replace the auto-configured {@code DataSource} with {@link ReplicaRoutingDataSource}
+ * @param replicas            replica databases, picked round-robin among the healthy ones
+ * @param lagQuery            query returning the replication lag in seconds as a single numeric column; when empty
+ *                            only connectivity is checked
+ * @param maxLag              replicas lagging more than this stop receiving reads until they catch up
+ * @param healthCheckInterval delay between two health checks of every replica
+ */
+@ConfigurationProperties(prefix = "datasource-routing")
+public record ReplicaRoutingProperties(boolean enabled,
+                                       List<Replica> replicas,
+                                       String lagQuery,
+                                       Duration maxLag,
+                                       Duration healthCheckInterval) {
+
+    public ReplicaRoutingProperties {
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+        maxLag = maxLag == null ? Duration.ofSeconds(5) : maxLag;
+        healthCheckInterval = healthCheckInterval == null ? Duration.ofSeconds(5) : healthCheckInterval;
+    }
+
+    /**
+     * @param name     Hikari pool name, also used as the {@code pool} tag of the pool metrics
+     * @param url      JDBC url of the replica
+     * @param username defaults to {@code spring.datasource.username}
+     * @param password defaults to {@code spring.datasource.password}
+     */
+    public record Replica(String name, String url, String username, String password) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.shared.interfaces.binary;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Binary contract of {@code POST /products/batch} between order-service and product-service.
+ * <p>
+ * Bodies are CBOR with positional fields, so no field name is repeated per item:
+ * <ul>
+ *     <li>Request: a definite-length array {@code [version, productId, quantity, productId, quantity, ...]}.</li>
+ *     <li>Response: an indefinite-length array {@code [version, item, item, ...]}, written item by item so the
+ *     server never buffers the whole body, and read item by item by the client. Each item is an array
+ *     {@code [productId, name, price, isAvailable, availableUnits, error]}; absent values are CBOR {@code null}
+ *     and the price is a CBOR decimal fraction.</li>
+ * </ul>
+ * The version appears both in the media type, for content negotiation, and as the first element of every body.
+ * Readers ignore trailing elements of an item they do not know, so fields may be appended to items without a new
+ * version; any other change needs a new version and media type, served next to the previous one.
+ */
+public final class BatchValidationWireFormat {
+
+    public static final int VERSION = 1;
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.ecommerce.batch-validation.v1+cbor";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /**
+     * Number of elements of a response item in this version.
+     */
+    public static final int ITEM_FIELDS = 6;
+
+    private BatchValidationWireFormat() {
+    }
+}
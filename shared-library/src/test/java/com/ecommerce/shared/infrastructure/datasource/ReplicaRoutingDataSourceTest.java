@@ -0,0 +1,91 @@
+package com.ecommerce.shared.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between independent in-memory H2 databases, each one knowing its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        dataSource = routing("SELECT 0", "replica_a");
+
+        assertThat(serverName(true)).isEqualTo("replica_a");
+        assertThat(serverName(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenHealthyReplicas() {
+        dataSource = routing("SELECT 0", "replica_a", "replica_b");
+
+        List<String> servers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            servers.add(serverName(true));
+        }
+
+        assertThat(servers).containsOnly("replica_a", "replica_b");
+        assertThat(servers.get(0)).isNotEqualTo(servers.get(1));
+        assertThat(servers.get(0)).isEqualTo(servers.get(2));
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        dataSource = routing("SELECT 30", "replica_a");
+
+        assertThat(dataSource.replicas().getFirst().healthy()).isFalse();
+        assertThat(dataSource.replicas().getFirst().lagSeconds()).isEqualTo(30.0);
+        assertThat(serverName(true)).isEqualTo("primary");
+    }
+
+    private String serverName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private static ReplicaRoutingDataSource routing(String lagQuery, String... replicaNames) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String name : replicaNames) {
+            replicas.add(database(name));
+        }
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(database("primary"), replicas, lagQuery,
+                Duration.ofSeconds(5), Duration.ofHours(1));
+        dataSource.checkReplicas();
+        return dataSource;
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(2);
+        HikariDataSource pool = new HikariDataSource(config);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS server (name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM server");
+        jdbcTemplate.update("INSERT INTO server (name) VALUES (?)", name);
+        return pool;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.shared.interfaces.binary;
+
+import java.util.HexFormat;
+
+/**
+ * Golden bodies of {@link BatchValidationWireFormat} v1, shared by the tests of both sides of the contract: each
+ * service checks that it writes exactly these bytes and that it reads the bytes the other service writes.
+ */
+public final class BatchValidationSamples {
+
+    /**
+     * Request for product 10, quantity 2, and product 11, quantity 1.
+     */
+    public static final byte[] REQUEST = HexFormat.of().parseHex("85010a020b01");
+
+    /**
+     * Response with product 10 ({@code "Phone"}, 19.99, available, 5 units) and product 11 (unknown,
+     * {@code "Product not found"}).
+     */
+    public static final byte[] RESPONSE = HexFormat.of().parseHex(
+            "9f01860a6550686f6e65c482211907cff505f6860bf6f6f4f67150726f64756374206e6f7420666f756e64ff");
+
+    private BatchValidationSamples() {
+    }
+}